@@ -3,9 +3,11 @@ package com.kenya.hotelbooking;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 class HotelBookingApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(HotelBookingApplication.class, args);
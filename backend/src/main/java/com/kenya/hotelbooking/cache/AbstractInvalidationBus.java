@@ -0,0 +1,57 @@
+package com.kenya.hotelbooking.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+abstract class AbstractInvalidationBus implements InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractInvalidationBus.class);
+
+    // Iterated in Stage order regardless of which bean subscribed first
+    private final Map<Stage, List<Consumer<RoomChange>>> listeners = new EnumMap<>(Stage.class);
+
+    protected AbstractInvalidationBus() {
+        for (Stage stage : Stage.values()) {
+            listeners.put(stage, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    @Override
+    public void subscribe(Stage stage, Consumer<RoomChange> listener) {
+        listeners.get(stage).add(listener);
+    }
+
+    // Evict on this node once the write is visible, so a reload can't pick up the old row
+    protected void notifyLocalAfterCommit(RoomChange change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notifyLocal(change);
+                }
+            });
+        } else {
+            notifyLocal(change);
+        }
+    }
+
+    protected void notifyLocal(RoomChange change) {
+        for (List<Consumer<RoomChange>> stage : listeners.values()) {
+            for (Consumer<RoomChange> listener : stage) {
+                try {
+                    listener.accept(change);
+                } catch (Exception e) {
+                    log.warn("Cache invalidation listener failed for room {}", change.roomId(), e);
+                }
+            }
+        }
+    }
+}
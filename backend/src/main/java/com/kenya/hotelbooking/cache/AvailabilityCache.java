@@ -0,0 +1,75 @@
+package com.kenya.hotelbooking.cache;
+
+import com.kenya.hotelbooking.search.RoomAvailabilityIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Per-node cache of availability search results keyed by location and dates.
+// Only room ids are kept: entities are loaded per request, so no Room (and none of its
+// lazy collections) is ever shared between sessions or threads.
+// A change to a room evicts every result for that room's location; if the room's
+// location isn't known here (e.g. a room created on another node) everything goes.
+// Eviction follows RoomAvailabilityIndex rather than the bus, so a result is never
+// refilled from the index before the index has reloaded the room.
+@Component
+public class AvailabilityCache implements RoomAvailabilityIndex.Listener {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final Map<Key, Entry> results = new ConcurrentHashMap<>();
+    private final Map<Long, String> roomLocations = new ConcurrentHashMap<>();
+    private final long maxStalenessMillis;
+
+    public AvailabilityCache(RoomAvailabilityIndex availabilityIndex,
+                             @Value("${cache.max-staleness-ms:30000}") long maxStalenessMillis) {
+        this.maxStalenessMillis = maxStalenessMillis;
+        availabilityIndex.addListener(this);
+    }
+
+    public List<Long> getRoomIds(String location, LocalDate checkIn, LocalDate checkOut, Supplier<List<Long>> loader) {
+        Key key = new Key(location, checkIn, checkOut);
+        long now = System.currentTimeMillis();
+        Entry entry = results.get(key);
+        if (entry != null && now - entry.loadedAt < maxStalenessMillis) {
+            return entry.roomIds;
+        }
+
+        List<Long> roomIds = List.copyOf(loader.get());
+        roomIds.forEach(roomId -> roomLocations.put(roomId, location));
+        if (results.size() >= MAX_ENTRIES) {
+            results.clear();
+        }
+        results.put(key, new Entry(roomIds, now));
+        return roomIds;
+    }
+
+    @Override
+    public void roomChanged(Long roomId) {
+        evictRoom(roomId);
+    }
+
+    @Override
+    public void rebuilt() {
+        results.clear();
+        roomLocations.clear();
+    }
+
+    public void evictRoom(Long roomId) {
+        String location = roomLocations.remove(roomId);
+        if (location == null) {
+            results.clear();
+        } else {
+            results.keySet().removeIf(key -> location.equalsIgnoreCase(key.location));
+        }
+    }
+
+    private record Key(String location, LocalDate checkIn, LocalDate checkOut) {}
+
+    private record Entry(List<Long> roomIds, long loadedAt) {}
+}
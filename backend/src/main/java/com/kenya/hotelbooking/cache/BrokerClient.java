@@ -0,0 +1,13 @@
+package com.kenya.hotelbooking.cache;
+
+import java.util.function.Consumer;
+
+// Minimal contract a message broker (Redis pub/sub, Kafka, RabbitMQ...) has to offer
+// to carry room invalidations. Provide a bean of this type and set
+// cache.invalidation.mode=broker to use it instead of the change-log table.
+public interface BrokerClient {
+
+    void send(String topic, String payload);
+
+    void listen(String topic, Consumer<String> handler);
+}
@@ -0,0 +1,65 @@
+package com.kenya.hotelbooking.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Push-based bus for deployments that already run a broker. Messages are sent
+// after commit as "<nodeId>:<roomId>:<type>" so a node can ignore its own events.
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.mode", havingValue = "broker")
+public class BrokerInvalidationBus extends AbstractInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(BrokerInvalidationBus.class);
+
+    private final BrokerClient brokerClient;
+    private final NodeIdentity nodeIdentity;
+    private final String topic;
+
+    public BrokerInvalidationBus(BrokerClient brokerClient,
+                                 NodeIdentity nodeIdentity,
+                                 @Value("${cache.invalidation.topic:hotel.room-invalidations}") String topic) {
+        this.brokerClient = brokerClient;
+        this.nodeIdentity = nodeIdentity;
+        this.topic = topic;
+        brokerClient.listen(topic, this::onMessage);
+    }
+
+    @Override
+    public void publish(Long roomId, RoomChange.Type type) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(roomId, type);
+                }
+            });
+        } else {
+            send(roomId, type);
+        }
+    }
+
+    private void send(Long roomId, RoomChange.Type type) {
+        notifyLocal(new RoomChange(roomId, type, true));
+        brokerClient.send(topic, nodeIdentity.getNodeId() + ":" + roomId + ":" + type);
+    }
+
+    private void onMessage(String payload) {
+        int typeSeparator = payload.lastIndexOf(':');
+        int separator = typeSeparator < 0 ? -1 : payload.lastIndexOf(':', typeSeparator - 1);
+        if (separator < 0 || payload.substring(0, separator).equals(nodeIdentity.getNodeId())) {
+            return;
+        }
+        try {
+            Long roomId = Long.valueOf(payload.substring(separator + 1, typeSeparator));
+            RoomChange.Type type = RoomChange.Type.valueOf(payload.substring(typeSeparator + 1));
+            notifyLocal(new RoomChange(roomId, type, false));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed invalidation message: {}", payload);
+        }
+    }
+}
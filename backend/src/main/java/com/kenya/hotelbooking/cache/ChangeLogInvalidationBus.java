@@ -0,0 +1,79 @@
+package com.kenya.hotelbooking.cache;
+
+import com.kenya.hotelbooking.entity.RoomChangeLog;
+import com.kenya.hotelbooking.repository.RoomChangeLogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Default bus: writes go to room_change_log in the same transaction as the change,
+// and every node polls the table for rows it hasn't seen. Works on plain H2/MySQL.
+// Rows from concurrent transactions commit out of id order, so each poll re-reads
+// everything stamped within cache.invalidation.lookback-ms of the previous poll and
+// skips ids it has already handled. The lookback has to cover the longest write
+// transaction, replica lag and clock skew between nodes; anything later than that is
+// caught by the TTL on the caches and the periodic index rebuild.
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.mode", havingValue = "changelog", matchIfMissing = true)
+public class ChangeLogInvalidationBus extends AbstractInvalidationBus {
+
+    private final RoomChangeLogRepository changeLogRepository;
+    private final NodeIdentity nodeIdentity;
+    private final long retentionMinutes;
+    private final Duration lookback;
+
+    // Ids already handled that are still inside the lookback window, with their timestamps
+    private final Map<Long, LocalDateTime> seen = new HashMap<>();
+    private LocalDateTime lastPolledAt;
+
+    public ChangeLogInvalidationBus(RoomChangeLogRepository changeLogRepository,
+                                    NodeIdentity nodeIdentity,
+                                    @Value("${cache.invalidation.retention-minutes:60}") long retentionMinutes,
+                                    @Value("${cache.invalidation.lookback-ms:10000}") long lookbackMillis) {
+        this.changeLogRepository = changeLogRepository;
+        this.nodeIdentity = nodeIdentity;
+        this.retentionMinutes = retentionMinutes;
+        this.lookback = Duration.ofMillis(lookbackMillis);
+    }
+
+    @Override
+    @Transactional
+    public void publish(Long roomId, RoomChange.Type type) {
+        changeLogRepository.save(new RoomChangeLog(roomId, type, nodeIdentity.getNodeId()));
+        notifyLocalAfterCommit(new RoomChange(roomId, type, true));
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval-ms:1000}")
+    @Transactional(readOnly = true)
+    public synchronized void poll() {
+        String nodeId = nodeIdentity.getNodeId();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = (lastPolledAt == null ? now : lastPolledAt).minus(lookback);
+
+        List<RoomChangeLog> changes = changeLogRepository.findByChangedAtGreaterThanEqualOrderByIdAsc(since);
+        for (RoomChangeLog change : changes) {
+            if (seen.putIfAbsent(change.getId(), change.getChangedAt()) != null) {
+                continue;
+            }
+            if (!nodeId.equals(change.getOriginNode())) {
+                notifyLocal(new RoomChange(change.getRoomId(), change.getChangeType(), false));
+            }
+        }
+        seen.values().removeIf(changedAt -> changedAt.isBefore(since));
+        lastPolledAt = now;
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.purge-interval-ms:600000}")
+    @Transactional
+    public void purge() {
+        changeLogRepository.deleteOlderThan(LocalDateTime.now().minusMinutes(retentionMinutes));
+    }
+}
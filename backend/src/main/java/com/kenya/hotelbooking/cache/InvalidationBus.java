@@ -0,0 +1,22 @@
+package com.kenya.hotelbooking.cache;
+
+import java.util.function.Consumer;
+
+// Tells every backend instance that something about a room changed.
+// Per-node caches subscribe and evict whatever they hold for that room id.
+// Subscribers run stage by stage, so nothing reloads from a layer that hasn't been
+// evicted yet: Hibernate's own caches, then the in-memory indexes, then the caches
+// built on top of them.
+public interface InvalidationBus {
+
+    enum Stage { SOURCE, INDEX, CACHE }
+
+    // Call from inside the writing transaction; local subscribers are notified after commit
+    void publish(Long roomId, RoomChange.Type type);
+
+    void subscribe(Stage stage, Consumer<RoomChange> listener);
+
+    default void subscribe(Consumer<RoomChange> listener) {
+        subscribe(Stage.CACHE, listener);
+    }
+}
@@ -0,0 +1,112 @@
+package com.kenya.hotelbooking.cache;
+
+import com.kenya.hotelbooking.entity.NodeLease;
+import com.kenya.hotelbooking.repository.NodeLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Identifies this backend instance on the invalidation bus and in booking references.
+// The id is a number from 0 to MAX_NODE_ID. Set cache.node-id to pin it; otherwise the
+// instance leases a free id from the node_lease table and keeps renewing it, so two
+// running instances never share one. A lease that lapses (e.g. a long GC pause or lost
+// database connection) is re-taken if still free, otherwise a new id is leased.
+@Component
+public class NodeIdentity {
+
+    private static final Logger log = LoggerFactory.getLogger(NodeIdentity.class);
+
+    public static final int MAX_NODE_ID = 1023;
+
+    private final NodeLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration leaseTtl;
+    private final String holder = UUID.randomUUID().toString();
+    private final boolean leased;
+
+    private volatile int nodeId;
+
+    public NodeIdentity(@Value("${cache.node-id:-1}") int configuredNodeId,
+                        @Value("${cache.node-lease-ttl-ms:60000}") long leaseTtlMillis,
+                        NodeLeaseRepository leaseRepository,
+                        PlatformTransactionManager transactionManager) {
+        if (configuredNodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("cache.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseTtl = Duration.ofMillis(leaseTtlMillis);
+        this.leased = configuredNodeId < 0;
+        this.nodeId = leased ? leaseFreeId() : configuredNodeId;
+    }
+
+    public int getNumericId() {
+        return nodeId;
+    }
+
+    public String getNodeId() {
+        return Integer.toString(nodeId);
+    }
+
+    @Scheduled(fixedDelayString = "${cache.node-lease-renew-ms:20000}")
+    public void renewLease() {
+        if (!leased || tryClaim(nodeId)) {
+            return;
+        }
+        int lost = nodeId;
+        nodeId = leaseFreeId();
+        log.warn("Node id lease {} was taken over, now using node id {}", lost, nodeId);
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        if (leased) {
+            transactionTemplate.executeWithoutResult(status -> leaseRepository.release(nodeId, holder));
+        }
+    }
+
+    // Start at a random id so instances booting together don't all race for id 0
+    private int leaseFreeId() {
+        int start = ThreadLocalRandom.current().nextInt(MAX_NODE_ID + 1);
+        for (int i = 0; i <= MAX_NODE_ID; i++) {
+            int candidate = (start + i) % (MAX_NODE_ID + 1);
+            if (tryClaim(candidate) || tryInsert(candidate)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("No free node id in node_lease; set cache.node-id explicitly");
+    }
+
+    private boolean tryClaim(int candidate) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer updated = transactionTemplate.execute(status ->
+                leaseRepository.claim(candidate, holder, now.plus(leaseTtl), now));
+        return updated != null && updated == 1;
+    }
+
+    // Each attempt in its own transaction: a duplicate key only fails that attempt
+    private boolean tryInsert(int candidate) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!leaseRepository.existsById(candidate)) {
+                    leaseRepository.saveAndFlush(
+                            new NodeLease(candidate, holder, LocalDateTime.now().plus(leaseTtl)));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+        return tryClaim(candidate);
+    }
+}
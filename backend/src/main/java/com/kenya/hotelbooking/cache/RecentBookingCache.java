@@ -0,0 +1,121 @@
+package com.kenya.hotelbooking.cache;
+
+import com.kenya.hotelbooking.entity.Booking;
+import com.kenya.hotelbooking.entity.Customer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Bounded LRU of bookings made on this node, keyed by reference, so "view my booking"
+// straight after checkout is served without a database read. Entries for a room are
+// dropped on its invalidation events (e.g. a cancellation on another node).
+// Like RoomCache it holds detached copies taken at commit and hands out a new copy per
+// read, so nothing lazy or shared escapes. The copy is taken before the confirmation
+// email goes out (emailSent = false); the dispatcher evicts the entry once it has set
+// the flag, and the next read comes from the database.
+@Component
+public class RecentBookingCache {
+
+    private final int capacity;
+    private final Map<String, Booking> bookings;
+    private final Map<Long, Set<String>> referencesByRoom = new HashMap<>();
+
+    public RecentBookingCache(InvalidationBus invalidationBus,
+                              @Value("${booking.recent-cache.size:10000}") int capacity) {
+        this.capacity = capacity;
+        this.bookings = new LinkedHashMap<>(16, 0.75f, true);
+        invalidationBus.subscribe(change -> evictRoom(change.roomId()));
+    }
+
+    // Only cache once the booking is committed; call after publishing the room's invalidation.
+    // The copy is taken now, while the session can still read the room's amenities.
+    public void putAfterCommit(Booking booking) {
+        Booking copy = detachedCopy(booking);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(copy);
+                }
+            });
+        } else {
+            put(copy);
+        }
+    }
+
+    public synchronized Booking get(String reference) {
+        Booking booking = bookings.get(reference);
+        return booking == null ? null : detachedCopy(booking);
+    }
+
+    public synchronized void evict(String reference) {
+        Booking booking = bookings.remove(reference);
+        if (booking != null) {
+            unindex(booking);
+        }
+    }
+
+    public synchronized void evictAll(Collection<String> references) {
+        references.forEach(this::evict);
+    }
+
+    public synchronized void evictRoom(Long roomId) {
+        Set<String> references = referencesByRoom.remove(roomId);
+        if (references != null) {
+            references.forEach(bookings::remove);
+        }
+    }
+
+    private synchronized void put(Booking booking) {
+        String reference = booking.getBookingReference();
+        Booking previous = bookings.put(reference, booking);
+        if (previous != null) {
+            unindex(previous);
+        }
+        referencesByRoom.computeIfAbsent(booking.getRoom().getId(), id -> new HashSet<>()).add(reference);
+
+        if (bookings.size() > capacity) {
+            Map.Entry<String, Booking> eldest = bookings.entrySet().iterator().next();
+            bookings.remove(eldest.getKey());
+            unindex(eldest.getValue());
+        }
+    }
+
+    private void unindex(Booking booking) {
+        Set<String> references = referencesByRoom.get(booking.getRoom().getId());
+        if (references != null) {
+            references.remove(booking.getBookingReference());
+            if (references.isEmpty()) {
+                referencesByRoom.remove(booking.getRoom().getId());
+            }
+        }
+    }
+
+    private static Booking detachedCopy(Booking source) {
+        Customer customer = new Customer();
+        customer.setId(source.getCustomer().getId());
+        customer.setFirstName(source.getCustomer().getFirstName());
+        customer.setLastName(source.getCustomer().getLastName());
+        customer.setEmail(source.getCustomer().getEmail());
+        customer.setPhoneNumber(source.getCustomer().getPhoneNumber());
+
+        Booking copy = new Booking();
+        copy.setId(source.getId());
+        copy.setBookingReference(source.getBookingReference());
+        copy.setRoom(RoomCache.detachedCopy(source.getRoom()));
+        copy.setCustomer(customer);
+        copy.setCheckInDate(source.getCheckInDate());
+        copy.setCheckOutDate(source.getCheckOutDate());
+        copy.setTotalPrice(source.getTotalPrice());
+        copy.setStatus(source.getStatus());
+        return copy;
+    }
+}
@@ -0,0 +1,62 @@
+package com.kenya.hotelbooking.cache;
+
+import com.kenya.hotelbooking.entity.Room;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Per-node room lookup cache. Entries are evicted by room id from the invalidation
+// bus and expire after cache.max-staleness-ms even if an event is lost.
+// Holds detached copies with the amenities copied out, never the managed entity, so a
+// cached room can be serialized on any thread without a session. Every read gets its own
+// copy, so a caller changing the returned room can't affect anyone else.
+// Bookings are not carried over: GET /api/rooms/{id} returns an empty bookings list,
+// and a room's bookings come from the /api/bookings endpoints instead.
+@Component
+public class RoomCache {
+
+    private final Map<Long, Entry> rooms = new ConcurrentHashMap<>();
+    private final long maxStalenessMillis;
+
+    public RoomCache(InvalidationBus invalidationBus,
+                     @Value("${cache.max-staleness-ms:30000}") long maxStalenessMillis) {
+        this.maxStalenessMillis = maxStalenessMillis;
+        invalidationBus.subscribe(change -> evict(change.roomId()));
+    }
+
+    // The loader must run inside a session so the amenities can be copied
+    public Room get(Long roomId, Function<Long, Room> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = rooms.get(roomId);
+        if (entry != null && now - entry.loadedAt < maxStalenessMillis) {
+            return detachedCopy(entry.room);
+        }
+        Room room = detachedCopy(loader.apply(roomId));
+        rooms.put(roomId, new Entry(room, now));
+        return detachedCopy(room);
+    }
+
+    public void evict(Long roomId) {
+        rooms.remove(roomId);
+    }
+
+    static Room detachedCopy(Room source) {
+        Room copy = new Room();
+        copy.setId(source.getId());
+        copy.setRoomNumber(source.getRoomNumber());
+        copy.setRoomType(source.getRoomType());
+        copy.setPricePerNight(source.getPricePerNight());
+        copy.setLocation(source.getLocation());
+        copy.setDescription(source.getDescription());
+        copy.setAmenities(new ArrayList<>(source.getAmenities()));
+        copy.setAvailable(source.isAvailable());
+        copy.setCapacity(source.getCapacity());
+        return copy;
+    }
+
+    private record Entry(Room room, long loadedAt) {}
+}
@@ -0,0 +1,13 @@
+package com.kenya.hotelbooking.cache;
+
+// One invalidation event. CATALOG covers the room itself (details, amenities, created or
+// deleted); OCCUPANCY is a booking or cancellation, which never changes the room row.
+// local is true when the write was made on this node.
+public record RoomChange(Long roomId, Type type, boolean local) {
+
+    public enum Type { CATALOG, OCCUPANCY }
+
+    public boolean isCatalog() {
+        return type == Type.CATALOG;
+    }
+}
@@ -0,0 +1,33 @@
+package com.kenya.hotelbooking.cache;
+
+import com.kenya.hotelbooking.entity.Room;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+// Hibernate keeps its own regions current for writes made on this node, but the
+// second-level and query caches are local. Room changes from other nodes arrive on the
+// invalidation bus and are evicted here. Bookings and cancellations (OCCUPANCY) don't
+// touch the rooms table or its amenities, so they leave both caches alone.
+// Runs in the SOURCE stage, before RoomCache and AmenityIndex reload the room.
+@Component
+public class SecondLevelCacheEvictor {
+
+    private final Cache cache;
+
+    public SecondLevelCacheEvictor(EntityManagerFactory entityManagerFactory, InvalidationBus invalidationBus) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        invalidationBus.subscribe(InvalidationBus.Stage.SOURCE, change -> {
+            if (!change.local() && change.isCatalog()) {
+                evict(change.roomId());
+            }
+        });
+    }
+
+    public void evict(Long roomId) {
+        cache.evictEntityData(Room.class, roomId);
+        cache.evictCollectionData(Room.class.getName() + ".amenities", roomId);
+        cache.evictDefaultQueryRegion();
+    }
+}
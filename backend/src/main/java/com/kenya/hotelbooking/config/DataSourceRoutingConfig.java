@@ -0,0 +1,65 @@
+package com.kenya.hotelbooking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Enabled when hotel.datasource.replica.url is set; otherwise the single
+// spring.datasource pool is used as before.
+@Configuration
+@ConditionalOnProperty(name = "hotel.datasource.replica.url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties primaryProperties,
+                                 @Value("${hotel.datasource.replica.url}") String replicaUrl,
+                                 @Value("${hotel.datasource.replica.username:}") String replicaUsername,
+                                 @Value("${hotel.datasource.replica.password:}") String replicaPassword,
+                                 @Value("${hotel.datasource.replica.maximum-pool-size:20}") int replicaPoolSize) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("hotel-primary");
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername.isBlank() ? primaryProperties.determineUsername() : replicaUsername)
+                .password(replicaPassword.isBlank() ? primaryProperties.determinePassword() : replicaPassword)
+                .build();
+        replica.setPoolName("hotel-replica");
+        replica.setMaximumPoolSize(replicaPoolSize);
+        replica.setReadOnly(true);
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.PRIMARY, primary,
+                ReadWriteRoutingDataSource.Route.REPLICA, replica
+        ));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${hotel.datasource.read-your-writes-ms:10000}") long stickinessMillis,
+            @Value("${hotel.datasource.read-your-writes-secret:}") String secret) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(stickinessMillis, secret));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
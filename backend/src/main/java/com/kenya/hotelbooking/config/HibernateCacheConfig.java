@@ -0,0 +1,30 @@
+package com.kenya.hotelbooking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Second-level entity/collection cache and query cache for Room lookups, backed by a
+// local Ehcache (JCache) configured in ehcache.xml, plus Hibernate statistics for
+// /api/diagnostics/hibernate. hotel.hibernate.cache=false turns both caches off so the
+// load test can compare statement counts with and without them.
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(
+            @Value("${hotel.hibernate.cache:true}") boolean cache,
+            @Value("${hotel.hibernate.statistics:true}") boolean statistics,
+            @Value("${hotel.hibernate.slow-query-ms:200}") long slowQueryMillis) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", Boolean.toString(cache));
+            properties.put("hibernate.cache.use_query_cache", Boolean.toString(cache));
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider");
+            properties.put("hibernate.javax.cache.uri", "classpath:ehcache.xml");
+            properties.put("hibernate.generate_statistics", Boolean.toString(statistics));
+            properties.put("hibernate.log_slow_query", Long.toString(slowQueryMillis));
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.kenya.hotelbooking.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Sends @Transactional(readOnly = true) work to the replica pool and everything else
+// to the primary. Must sit behind a LazyConnectionDataSourceProxy so the lookup happens
+// after the transaction's read-only flag has been set. Connections taken outside a
+// transaction (lazy loading in the view, schema setup) go to the primary but don't
+// count as writes.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            RoutingContext.markWrite();
+            return Route.PRIMARY;
+        }
+        if (RoutingContext.isPinnedToPrimary()) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+}
@@ -0,0 +1,182 @@
+package com.kenya.hotelbooking.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// After a client writes (e.g. books a room) it gets a short-lived cookie; while that
+// cookie is valid its reads go to the primary so "My Bookings" doesn't miss the booking
+// because of replica lag.
+// The cookie is "<pinnedUntil>.<HMAC>" so clients can't mint or extend their own pin, and
+// a pin further out than the stickiness window is rejected. All nodes must share the
+// secret (hotel.datasource.read-your-writes-secret) for a pin to be honoured elsewhere.
+// It is only issued for 2xx responses, decided just before the body is written, so
+// nothing needs buffering.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadYourWritesFilter.class);
+
+    static final String COOKIE_NAME = "HB_PRIMARY_UNTIL";
+    private static final String HMAC = "HmacSHA256";
+
+    private final long stickinessMillis;
+    private final SecretKeySpec key;
+
+    public ReadYourWritesFilter(long stickinessMillis, String secret) {
+        this.stickinessMillis = stickinessMillis;
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            log.warn("hotel.datasource.read-your-writes-secret not set; pin cookies only work on this node");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, HMAC);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (primaryPinStillValid(request)) {
+            RoutingContext.pinToPrimary();
+        }
+
+        PinningResponse pinning = new PinningResponse(response);
+        try {
+            chain.doFilter(request, pinning);
+            // Bodiless responses (e.g. 204) never asked for a stream
+            pinning.pinIfWroteSuccessfully();
+        } finally {
+            RoutingContext.clear();
+        }
+    }
+
+    Cookie primaryPinCookie() {
+        long pinnedUntil = System.currentTimeMillis() + stickinessMillis;
+        Cookie cookie = new Cookie(COOKIE_NAME, pinnedUntil + "." + sign(pinnedUntil));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, stickinessMillis / 1000));
+        return cookie;
+    }
+
+    private boolean primaryPinStillValid(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return isValidPin(cookie.getValue());
+            }
+        }
+        return false;
+    }
+
+    private boolean isValidPin(String value) {
+        int separator = value.indexOf('.');
+        if (separator < 0) {
+            return false;
+        }
+        long pinnedUntil;
+        try {
+            pinnedUntil = Long.parseLong(value.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (pinnedUntil <= now || pinnedUntil > now + stickinessMillis) {
+            return false;
+        }
+        byte[] expected = sign(pinnedUntil).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = value.substring(separator + 1).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private String sign(long pinnedUntil) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            byte[] signature = mac.doFinal(Long.toString(pinnedUntil).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign read-your-writes cookie", e);
+        }
+    }
+
+    // Adds the pin cookie at the last moment headers can still change, and only when the
+    // request wrote and the status is 2xx
+    private final class PinningResponse extends HttpServletResponseWrapper {
+
+        private boolean decided;
+
+        PinningResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void pinIfWroteSuccessfully() {
+            if (decided || isCommitted()) {
+                return;
+            }
+            decided = true;
+            int status = getStatus();
+            if (RoutingContext.hasWritten() && status >= 200 && status < 300) {
+                addCookie(primaryPinCookie());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            pinIfWroteSuccessfully();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            pinIfWroteSuccessfully();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            pinIfWroteSuccessfully();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            decided = true;
+            super.sendError(status);
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            decided = true;
+            super.sendError(status, message);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            decided = true;
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.kenya.hotelbooking.config;
+
+// Per-request routing state. A request is pinned to the primary when its client wrote
+// recently (read-your-writes), and records whether it wrote so the pin can be extended.
+public final class RoutingContext {
+
+    private static final ThreadLocal<Boolean> PINNED = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Boolean> WROTE = ThreadLocal.withInitial(() -> false);
+
+    private RoutingContext() {}
+
+    public static void pinToPrimary() { PINNED.set(true); }
+    public static boolean isPinnedToPrimary() { return PINNED.get(); }
+
+    static void markWrite() { WROTE.set(true); }
+
+    public static boolean hasWritten() { return WROTE.get(); }
+
+    public static void clear() {
+        PINNED.remove();
+        WROTE.remove();
+    }
+}
@@ -0,0 +1,34 @@
+package com.kenya.hotelbooking.controller;
+
+import com.kenya.hotelbooking.service.DiagnosticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+@Tag(name = "Diagnostics", description = "Hibernate query and cache statistics")
+public class DiagnosticsController {
+
+    private final DiagnosticsService diagnosticsService;
+
+    public DiagnosticsController(DiagnosticsService diagnosticsService) {
+        this.diagnosticsService = diagnosticsService;
+    }
+
+    @GetMapping("/hibernate")
+    @Operation(summary = "Get Hibernate query, cache and slow-query statistics")
+    public ResponseEntity<Map<String, Object>> getHibernateStatistics() {
+        return ResponseEntity.ok(diagnosticsService.getHibernateStatistics());
+    }
+
+    @PostMapping("/hibernate/reset")
+    @Operation(summary = "Reset Hibernate statistics, e.g. before replaying a workload")
+    public ResponseEntity<Void> resetHibernateStatistics() {
+        diagnosticsService.resetStatistics();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -40,10 +40,11 @@ public class RoomController {
     @Operation(summary = "Search rooms with filters")
     public ResponseEntity<List<Room>> searchRooms(@Valid @RequestBody RoomSearchRequest request) {
         // Implementation with filters
-        List<Room> rooms = roomService.getAvailableRooms(
+        List<Room> rooms = roomService.searchRooms(
                 request.getLocation(),
                 request.getCheckInDate(),
-                request.getCheckOutDate()
+                request.getCheckOutDate(),
+                request.getAmenities()
         );
 
         // Apply additional filters
@@ -1,53 +1,36 @@
 package com.kenya.hotelbooking.dto;
 
 
-import jakarta.validation.constraints.Email;
-import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @SuppressWarnings("ALL")
-class BookingRequest {
+public class RoomSearchRequest {
 
-    @NotNull(message = "Room ID is required")
-    private Long roomId;
+    @NotBlank(message = "Location is required")
+    private String location;
 
-    @NotBlank(message = "First name is required")
-    private String firstName;
-
-    @NotBlank(message = "Last name is required")
-    private String lastName;
-
-    @Email(message = "Valid email is required")
-    @NotBlank(message = "Email is required")
-    private String email;
-
-    @NotBlank(message = "Phone number is required")
-    private String phoneNumber;
-
-    @NotNull(message = "Check-in date is required")
-    @Future(message = "Check-in date must be in the future")
     private LocalDate checkInDate;
 
-    @NotNull(message = "Check-out date is required")
-    @Future(message = "Check-out date must be in the future")
     private LocalDate checkOutDate;
 
+    private String roomType;
+
+    // Every listed amenity must be present, e.g. ["WiFi", "Pool", "Sea View"]
+    private List<String> amenities = new ArrayList<>();
+
     // Getters and Setters
-    public Long getRoomId() { return roomId; }
-    public void setRoomId(Long roomId) { this.roomId = roomId; }
-    public String getFirstName() { return firstName; }
-    public void setFirstName(String firstName) { this.firstName = firstName; }
-    public String getLastName() { return lastName; }
-    public void setLastName(String lastName) { this.lastName = lastName; }
-    public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
-    public String getPhoneNumber() { return phoneNumber; }
-    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
     public LocalDate getCheckInDate() { return checkInDate; }
     public void setCheckInDate(LocalDate checkInDate) { this.checkInDate = checkInDate; }
     public LocalDate getCheckOutDate() { return checkOutDate; }
     public void setCheckOutDate(LocalDate checkOutDate) { this.checkOutDate = checkOutDate; }
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+    public List<String> getAmenities() { return amenities; }
+    public void setAmenities(List<String> amenities) { this.amenities = amenities; }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.kenya.hotelbooking.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Claim on one of the 1024 node ids used in booking references and on the invalidation
+// bus. A running instance renews its row; an id whose lease expired can be taken over.
+@Entity
+@Table(name = "node_lease")
+public class NodeLease {
+
+    @Id
+    private Integer nodeId;
+
+    @Column(nullable = false, length = 64)
+    private String holder;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    public NodeLease() {}
+
+    public NodeLease(Integer nodeId, String holder, LocalDateTime expiresAt) {
+        this.nodeId = nodeId;
+        this.holder = holder;
+        this.expiresAt = expiresAt;
+    }
+
+    public Integer getNodeId() { return nodeId; }
+    public void setNodeId(Integer nodeId) { this.nodeId = nodeId; }
+    public String getHolder() { return holder; }
+    public void setHolder(String holder) { this.holder = holder; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,50 @@
+package com.kenya.hotelbooking.entity;
+
+import com.kenya.hotelbooking.cache.RoomChange;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// One row per write that touches a room (room edits, bookings, cancellations).
+// Other backend instances poll this table to evict their local caches.
+@Entity
+@Table(name = "room_change_log", indexes = @Index(name = "idx_room_change_log_changed_at", columnList = "changedAt"))
+public class RoomChangeLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long roomId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RoomChange.Type changeType;
+
+    @Column(nullable = false, length = 64)
+    private String originNode;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    public RoomChangeLog() {}
+
+    public RoomChangeLog(Long roomId, RoomChange.Type changeType, String originNode) {
+        this.roomId = roomId;
+        this.changeType = changeType;
+        this.originNode = originNode;
+        this.changedAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getRoomId() { return roomId; }
+    public void setRoomId(Long roomId) { this.roomId = roomId; }
+    public RoomChange.Type getChangeType() { return changeType; }
+    public void setChangeType(RoomChange.Type changeType) { this.changeType = changeType; }
+    public String getOriginNode() { return originNode; }
+    public void setOriginNode(String originNode) { this.originNode = originNode; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
@@ -15,6 +15,11 @@ public class DataInitializer {
     @Bean
     CommandLineRunner initDatabase(RoomRepository roomRepository) {
         return args -> {
+            // Another node (or an earlier run) already seeded the shared database
+            if (roomRepository.count() > 0) {
+                return;
+            }
+
             // Kenyan hotels data
             Room room1 = new Room();
             room1.setRoomNumber("101");
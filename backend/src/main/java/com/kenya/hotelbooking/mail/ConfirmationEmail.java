@@ -0,0 +1,17 @@
+package com.kenya.hotelbooking.mail;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Everything the confirmation needs, copied off the Booking on the request thread so
+// the worker never touches a detached entity or lazy association
+public record ConfirmationEmail(Long bookingId,
+                                String reference,
+                                String email,
+                                String guestName,
+                                String location,
+                                String roomNumber,
+                                String roomType,
+                                LocalDate checkIn,
+                                LocalDate checkOut,
+                                BigDecimal totalPrice) {}
@@ -0,0 +1,65 @@
+package com.kenya.hotelbooking.mail;
+
+import com.kenya.hotelbooking.service.BookingService;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Year;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Renders the booking confirmation from templates/mail/booking-confirmation.{html,txt},
+// the same content the Node server.js sends. Templates are compiled once at startup.
+@Component
+public class ConfirmationEmailRenderer {
+
+    private final MailTemplate htmlTemplate;
+    private final MailTemplate textTemplate;
+
+    public ConfirmationEmailRenderer() {
+        this.htmlTemplate = MailTemplate.compile(load("templates/mail/booking-confirmation.html"), true);
+        this.textTemplate = MailTemplate.compile(load("templates/mail/booking-confirmation.txt"), false);
+    }
+
+    public String subject(ConfirmationEmail email) {
+        return "✅ Booking Confirmed: " + hotelName(email) + " - " + email.reference();
+    }
+
+    public String renderHtml(ConfirmationEmail email) {
+        return htmlTemplate.render(values(email));
+    }
+
+    public String renderText(ConfirmationEmail email) {
+        return textTemplate.render(values(email));
+    }
+
+    private Map<String, String> values(ConfirmationEmail email) {
+        Map<String, String> values = new HashMap<>();
+        values.put("guestName", email.guestName());
+        values.put("hotelName", hotelName(email));
+        values.put("location", email.location());
+        values.put("checkIn", email.checkIn().toString());
+        values.put("checkOut", email.checkOut().toString());
+        values.put("total", String.format(Locale.US, "%,.2f", email.totalPrice()));
+        values.put("reference", email.reference());
+        values.put("cancellationHours", Long.toString(BookingService.FREE_CANCELLATION_WINDOW.toHours()));
+        values.put("year", Integer.toString(Year.now().getValue()));
+        return values;
+    }
+
+    private static String hotelName(ConfirmationEmail email) {
+        return "KenyaStay " + email.location() + " - Room " + email.roomNumber() + " (" + email.roomType() + ")";
+    }
+
+    private static String load(String path) {
+        try {
+            return new ClassPathResource(path).getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Missing mail template " + path, e);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.kenya.hotelbooking.mail;
+
+import com.kenya.hotelbooking.cache.RecentBookingCache;
+import com.kenya.hotelbooking.entity.Booking;
+import com.kenya.hotelbooking.repository.BookingRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Renders and sends confirmation emails off the request thread. A fixed number of
+// workers drain a bounded queue in batches; each batch goes out through one
+// JavaMailSender.send(MimeMessage...) call, i.e. one SMTP connection for the batch.
+// When the queue is full the email is skipped and the booking keeps emailSent = false.
+@Component
+public class ConfirmationMailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfirmationMailDispatcher.class);
+
+    private final JavaMailSender mailSender;
+    private final ConfirmationEmailRenderer renderer;
+    private final BookingRepository bookingRepository;
+    private final RecentBookingCache recentBookings;
+    private final String from;
+    private final int batchSize;
+    private final BlockingQueue<ConfirmationEmail> queue;
+    private final ExecutorService workers;
+    private volatile boolean running = true;
+
+    public ConfirmationMailDispatcher(JavaMailSender mailSender,
+                                      ConfirmationEmailRenderer renderer,
+                                      BookingRepository bookingRepository,
+                                      RecentBookingCache recentBookings,
+                                      @Value("${mail.from:KenyaStay Hotels <bookings@kenyastay.co.ke>}") String from,
+                                      @Value("${mail.workers:2}") int workerCount,
+                                      @Value("${mail.batch-size:20}") int batchSize,
+                                      @Value("${mail.queue-capacity:1000}") int queueCapacity) {
+        this.mailSender = mailSender;
+        this.renderer = renderer;
+        this.bookingRepository = bookingRepository;
+        this.recentBookings = recentBookings;
+        this.from = from;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "confirmation-mail-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::drain);
+        }
+    }
+
+    // Queue once the booking has committed, so a rolled-back booking never gets an email
+    public void enqueueAfterCommit(Booking booking) {
+        ConfirmationEmail email = new ConfirmationEmail(
+                booking.getId(),
+                booking.getBookingReference(),
+                booking.getCustomer().getEmail(),
+                booking.getCustomer().getFirstName() + " " + booking.getCustomer().getLastName(),
+                booking.getRoom().getLocation(),
+                booking.getRoom().getRoomNumber(),
+                booking.getRoom().getRoomType(),
+                booking.getCheckInDate(),
+                booking.getCheckOutDate(),
+                booking.getTotalPrice());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(email);
+                }
+            });
+        } else {
+            enqueue(email);
+        }
+    }
+
+    void enqueue(ConfirmationEmail email) {
+        if (!queue.offer(email)) {
+            log.warn("Confirmation mail queue full, not sending email for booking {}", email.reference());
+        }
+    }
+
+    private void drain() {
+        List<ConfirmationEmail> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ConfirmationEmail first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to send confirmation emails", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<ConfirmationEmail> batch) {
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        List<ConfirmationEmail> rendered = new ArrayList<>(batch.size());
+        for (ConfirmationEmail email : batch) {
+            try {
+                messages.add(render(email));
+                rendered.add(email);
+            } catch (MessagingException | RuntimeException e) {
+                log.error("Failed to render email for booking {}", email.reference(), e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> failed = new HashSet<>();
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            // Some messages may have gone out; only those listed failed
+            e.getFailedMessages().keySet().forEach(message -> failed.add(messages.indexOf(message)));
+            if (failed.isEmpty()) {
+                throw e;
+            }
+            log.warn("Failed to send {} of {} confirmation emails", failed.size(), messages.size(), e);
+        } catch (MailException e) {
+            log.error("Failed to send {} confirmation emails", messages.size(), e);
+            return;
+        }
+
+        List<ConfirmationEmail> sent = new ArrayList<>(rendered.size());
+        for (int i = 0; i < rendered.size(); i++) {
+            if (!failed.contains(i)) {
+                sent.add(rendered.get(i));
+            }
+        }
+        markSent(sent);
+    }
+
+    private MimeMessage render(ConfirmationEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
+        helper.setFrom(from);
+        helper.setTo(email.email());
+        helper.setSubject(renderer.subject(email));
+        helper.setText(renderer.renderText(email), renderer.renderHtml(email));
+        return message;
+    }
+
+    // One UPDATE of just the flag: loading and saving the entities would write back
+    // every column and could undo a cancellation committed while the mail was sending.
+    // The cached copies still say emailSent = false, so they go.
+    private void markSent(List<ConfirmationEmail> sent) {
+        if (sent.isEmpty()) {
+            return;
+        }
+        bookingRepository.markEmailSent(sent.stream().map(ConfirmationEmail::bookingId).toList());
+        recentBookings.evictAll(sent.stream().map(ConfirmationEmail::reference).toList());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
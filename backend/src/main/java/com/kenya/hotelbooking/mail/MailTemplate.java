@@ -0,0 +1,73 @@
+package com.kenya.hotelbooking.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// A template parsed once into literal chunks and {{variable}} slots, so rendering is
+// a single pass of StringBuilder appends with no scanning or regex per email.
+public final class MailTemplate {
+
+    private final String[] literals;
+    private final String[] variables;
+    private final boolean escapeHtml;
+    private final int literalLength;
+
+    private MailTemplate(List<String> literals, List<String> variables, boolean escapeHtml) {
+        this.literals = literals.toArray(new String[0]);
+        this.variables = variables.toArray(new String[0]);
+        this.escapeHtml = escapeHtml;
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    public static MailTemplate compile(String source, boolean escapeHtml) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                return new MailTemplate(literals, variables, escapeHtml);
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed {{ at offset " + open);
+            }
+            literals.add(source.substring(position, open));
+            variables.add(source.substring(open + 2, close).trim());
+            position = close + 2;
+        }
+    }
+
+    public String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(literalLength + variables.length * 24);
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(variables[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for template variable " + variables[i]);
+            }
+            if (escapeHtml) {
+                appendEscaped(out, value);
+            } else {
+                out.append(value);
+            }
+        }
+        return out.append(literals[variables.length]).toString();
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
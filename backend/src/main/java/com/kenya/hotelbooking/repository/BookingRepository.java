@@ -1,32 +1,27 @@
 package com.kenya.hotelbooking.repository;
 
-import com.cyborg.hotelbooking.entity.Room;
+import com.kenya.hotelbooking.entity.Booking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-@SuppressWarnings("ALL")
 @Repository
-public interface RoomRepository extends JpaRepository<Room, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Room> findByLocation(String location);
+    List<Booking> findByCustomerEmail(String email);
 
-    List<Room> findByLocationAndIsAvailableTrue(String location);
+    Optional<Booking> findByBookingReference(String bookingReference);
 
-    @Query("SELECT r FROM Room r WHERE r.location = :location " +
-            "AND r.isAvailable = true " +
-            "AND r.id NOT IN (" +
-            "   SELECT b.room.id FROM Booking b " +
-            "   WHERE b.status = 'CONFIRMED' " +
-            "   AND (b.checkInDate <= :checkOut AND b.checkOutDate >= :checkIn)" +
-            ")")
-    List<Room> findAvailableRooms(@Param("location") String location,
-                                  @Param("checkIn") LocalDate checkIn,
-                                  @Param("checkOut") LocalDate checkOut);
-
-    List<Room> findByRoomTypeAndIsAvailableTrue(String roomType);
-}
\ No newline at end of file
+    // Sets only the flag, leaving status and everything else as committed
+    @Transactional
+    @Modifying
+    @Query("UPDATE Booking b SET b.emailSent = true WHERE b.id IN :ids")
+    int markEmailSent(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,27 @@
+package com.kenya.hotelbooking.repository;
+
+import com.kenya.hotelbooking.entity.NodeLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface NodeLeaseRepository extends JpaRepository<NodeLease, Integer> {
+
+    // Renews our own lease or takes over an expired one; 0 rows means someone else holds it
+    @Modifying
+    @Query("UPDATE NodeLease l SET l.holder = :holder, l.expiresAt = :expiresAt " +
+            "WHERE l.nodeId = :nodeId AND (l.holder = :holder OR l.expiresAt < :now)")
+    int claim(@Param("nodeId") Integer nodeId,
+              @Param("holder") String holder,
+              @Param("expiresAt") LocalDateTime expiresAt,
+              @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM NodeLease l WHERE l.nodeId = :nodeId AND l.holder = :holder")
+    int release(@Param("nodeId") Integer nodeId, @Param("holder") String holder);
+}
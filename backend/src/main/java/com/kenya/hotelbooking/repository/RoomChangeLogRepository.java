@@ -0,0 +1,24 @@
+package com.kenya.hotelbooking.repository;
+
+import com.kenya.hotelbooking.entity.RoomChangeLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RoomChangeLogRepository extends JpaRepository<RoomChangeLog, Long> {
+
+    List<RoomChangeLog> findByChangedAtGreaterThanEqualOrderByIdAsc(LocalDateTime since);
+
+    @Query("SELECT DISTINCT c.roomId FROM RoomChangeLog c WHERE c.changedAt >= :since")
+    List<Long> findRoomIdsChangedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM RoomChangeLog c WHERE c.changedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
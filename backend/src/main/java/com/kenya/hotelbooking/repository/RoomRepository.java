@@ -1,8 +1,10 @@
 package com.kenya.hotelbooking.repository;
 
 import com.cyborg.hotelbooking.entity.Room;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,8 +15,11 @@ import java.util.List;
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
+    // Few distinct parameters (a handful of locations/room types): served from the query cache
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Room> findByLocation(String location);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Room> findByLocationAndIsAvailableTrue(String location);
 
     @Query("SELECT r FROM Room r WHERE r.location = :location " +
@@ -28,5 +33,23 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
                                   @Param("checkIn") LocalDate checkIn,
                                   @Param("checkOut") LocalDate checkOut);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Room> findByRoomTypeAndIsAvailableTrue(String roomType);
+
+    @Query("SELECT r.id, a FROM Room r JOIN r.amenities a")
+    List<Object[]> findAllRoomAmenities();
+
+    @Query("SELECT a FROM Room r JOIN r.amenities a WHERE r.id = :roomId")
+    List<String> findAmenitiesByRoomId(@Param("roomId") Long roomId);
+
+    @Query("SELECT r.id, r.location, r.isAvailable FROM Room r")
+    List<Object[]> findAllRoomStates();
+
+    @Query("SELECT b.room.id, b.checkInDate, b.checkOutDate FROM Booking b " +
+            "WHERE b.status = 'CONFIRMED' AND b.checkOutDate >= :from")
+    List<Object[]> findConfirmedStaysEndingOnOrAfter(@Param("from") LocalDate from);
+
+    @Query("SELECT b.checkInDate, b.checkOutDate FROM Booking b " +
+            "WHERE b.room.id = :roomId AND b.status = 'CONFIRMED' AND b.checkOutDate >= :from")
+    List<Object[]> findConfirmedStaysForRoom(@Param("roomId") Long roomId, @Param("from") LocalDate from);
 }
\ No newline at end of file
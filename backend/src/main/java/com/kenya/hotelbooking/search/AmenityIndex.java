@@ -0,0 +1,237 @@
+package com.kenya.hotelbooking.search;
+
+import com.kenya.hotelbooking.cache.InvalidationBus;
+import com.kenya.hotelbooking.repository.RoomRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index: amenity -> bitmap of room ids that have it.
+// Amenity names are interned to small ints so "WiFi + Pool + Sea View" is just
+// an AND of three bitmaps instead of a join on room_amenities.
+// Until the first build or restore finishes, isReady() is false and callers filter on
+// Room.getAmenities() instead. Events that arrive before then or during a rebuild are
+// queued and applied once the rebuilt postings are live.
+@Component
+public class AmenityIndex {
+
+    private final RoomRepository roomRepository;
+
+    private final Map<String, Integer> amenityIds = new HashMap<>();
+    private final List<String> amenityNames = new ArrayList<>();
+    private final List<BitSet> roomsByAmenity = new ArrayList<>();
+    private final Map<Long, int[]> amenitiesByRoom = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    // Guarded by itself, together with building
+    private final Set<Long> pendingRooms = new LinkedHashSet<>();
+    private boolean building;
+
+    public AmenityIndex(RoomRepository roomRepository, InvalidationBus invalidationBus) {
+        this.roomRepository = roomRepository;
+        // Applied after commit for local and remote edits alike; bookings don't touch amenities
+        invalidationBus.subscribe(InvalidationBus.Stage.INDEX, change -> {
+            if (change.isCatalog()) {
+                reloadRoom(change.roomId());
+            }
+        });
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Full rebuild from room_amenities; used at startup when there is no usable snapshot
+    public void build() {
+        synchronized (pendingRooms) {
+            building = true;
+        }
+        try {
+            Map<Long, List<String>> amenities = new HashMap<>();
+            for (Object[] row : roomRepository.findAllRoomAmenities()) {
+                amenities.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+            lock.writeLock().lock();
+            try {
+                clearLocked();
+                amenities.forEach(this::putLocked);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+        } finally {
+            applyPending();
+        }
+    }
+
+    public State export() {
+        lock.readLock().lock();
+        try {
+            return new State(List.copyOf(amenityNames), new HashMap<>(amenitiesByRoom));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void restore(State state) {
+        synchronized (pendingRooms) {
+            building = true;
+        }
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+            state.amenitiesByRoom().forEach((roomId, ids) -> {
+                List<String> amenities = new ArrayList<>(ids.length);
+                for (int amenityId : ids) {
+                    amenities.add(state.amenityNames().get(amenityId));
+                }
+                putLocked(roomId, amenities);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        applyPending();
+    }
+
+    public void put(Long roomId, Collection<String> amenities) {
+        lock.writeLock().lock();
+        try {
+            putLocked(roomId, amenities);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long roomId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(roomId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Rooms having every one of the given amenities; empty if any amenity is unknown
+    public BitSet roomsWithAll(Collection<String> amenities) {
+        lock.readLock().lock();
+        try {
+            BitSet result = null;
+            for (String amenity : amenities) {
+                Integer amenityId = amenityIds.get(normalize(amenity));
+                if (amenityId == null) {
+                    return new BitSet();
+                }
+                if (result == null) {
+                    result = (BitSet) roomsByAmenity.get(amenityId).clone();
+                } else {
+                    result.and(roomsByAmenity.get(amenityId));
+                }
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return result == null ? new BitSet() : result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(BitSet rooms, Long roomId) {
+        return rooms.get(Math.toIntExact(roomId));
+    }
+
+    public void reloadRoom(Long roomId) {
+        synchronized (pendingRooms) {
+            if (!ready || building) {
+                pendingRooms.add(roomId);
+                return;
+            }
+        }
+        load(roomId);
+    }
+
+    private void applyPending() {
+        while (true) {
+            List<Long> roomIds;
+            synchronized (pendingRooms) {
+                if (pendingRooms.isEmpty()) {
+                    building = false;
+                    return;
+                }
+                roomIds = new ArrayList<>(pendingRooms);
+                pendingRooms.clear();
+            }
+            roomIds.forEach(this::load);
+        }
+    }
+
+    private void load(Long roomId) {
+        if (roomRepository.existsById(roomId)) {
+            put(roomId, roomRepository.findAmenitiesByRoomId(roomId));
+        } else {
+            remove(roomId);
+        }
+    }
+
+    private void putLocked(Long roomId, Collection<String> amenities) {
+        removeLocked(roomId);
+        if (amenities == null || amenities.isEmpty()) {
+            return;
+        }
+        int bit = Math.toIntExact(roomId);
+        int[] ids = amenities.stream().mapToInt(this::intern).distinct().toArray();
+        for (int amenityId : ids) {
+            roomsByAmenity.get(amenityId).set(bit);
+        }
+        amenitiesByRoom.put(roomId, ids);
+    }
+
+    private void clearLocked() {
+        amenityIds.clear();
+        amenityNames.clear();
+        roomsByAmenity.clear();
+        amenitiesByRoom.clear();
+    }
+
+    private void removeLocked(Long roomId) {
+        int[] previous = amenitiesByRoom.remove(roomId);
+        if (previous == null) {
+            return;
+        }
+        int bit = Math.toIntExact(roomId);
+        for (int amenityId : previous) {
+            roomsByAmenity.get(amenityId).clear(bit);
+        }
+    }
+
+    private int intern(String amenity) {
+        String key = normalize(amenity);
+        Integer amenityId = amenityIds.get(key);
+        if (amenityId == null) {
+            amenityId = amenityNames.size();
+            amenityIds.put(key, amenityId);
+            amenityNames.add(amenity.trim());
+            roomsByAmenity.add(new BitSet());
+        }
+        return amenityId;
+    }
+
+    private static String normalize(String amenity) {
+        return amenity.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Interned amenity names plus each room's amenity ids into that list
+    public record State(List<String> amenityNames, Map<Long, int[]> amenitiesByRoom) {}
+}
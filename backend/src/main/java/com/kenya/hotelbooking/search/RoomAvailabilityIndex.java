@@ -0,0 +1,185 @@
+package com.kenya.hotelbooking.search;
+
+import com.kenya.hotelbooking.cache.InvalidationBus;
+import com.kenya.hotelbooking.repository.RoomRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// In-memory occupancy: for every room its location, availability flag and the
+// CONFIRMED stays that end on or after the horizon date. Answers the same question
+// as RoomRepository.findAvailableRooms without the NOT IN subquery.
+// Kept current by the invalidation bus; bookings themselves are still checked
+// against the database in BookingService. Events that arrive before the index is
+// ready or while it is being rebuilt are queued and applied once the new map is live.
+// Listeners (AvailabilityCache) hear about a room when its reload is queued and again
+// once it is applied, and about every room after a build or restore.
+@Component
+public class RoomAvailabilityIndex {
+
+    private final RoomRepository roomRepository;
+
+    private volatile Map<Long, RoomState> rooms = new ConcurrentHashMap<>();
+    private volatile LocalDate horizon;
+    private volatile boolean ready;
+
+    // Guarded by itself, together with building
+    private final Set<Long> pendingRooms = new LinkedHashSet<>();
+    private boolean building;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public RoomAvailabilityIndex(RoomRepository roomRepository, InvalidationBus invalidationBus) {
+        this.roomRepository = roomRepository;
+        invalidationBus.subscribe(InvalidationBus.Stage.INDEX, change -> reloadRoom(change.roomId()));
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    // Full rebuild from rooms and bookings; used at startup when there is no usable snapshot
+    public void build() {
+        synchronized (pendingRooms) {
+            building = true;
+        }
+        try {
+            LocalDate from = LocalDate.now();
+            Map<Long, List<int[]>> stays = new HashMap<>();
+            for (Object[] row : roomRepository.findConfirmedStaysEndingOnOrAfter(from)) {
+                stays.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                        .add(new int[]{toDay((LocalDate) row[1]), toDay((LocalDate) row[2])});
+            }
+            Map<Long, RoomState> fresh = new ConcurrentHashMap<>();
+            for (Object[] row : roomRepository.findAllRoomStates()) {
+                Long roomId = (Long) row[0];
+                fresh.put(roomId, new RoomState((String) row[1], (Boolean) row[2], toArray(stays.get(roomId))));
+            }
+            horizon = from;
+            rooms = fresh;
+            ready = true;
+        } finally {
+            applyPending();
+        }
+        listeners.forEach(Listener::rebuilt);
+    }
+
+    public boolean canAnswer(LocalDate checkIn) {
+        return ready && !checkIn.isBefore(horizon);
+    }
+
+    // Same overlap rule as findAvailableRooms: checkInDate <= checkOut AND checkOutDate >= checkIn
+    public List<Long> findAvailableRoomIds(String location, LocalDate checkIn, LocalDate checkOut) {
+        int in = toDay(checkIn);
+        int out = toDay(checkOut);
+        List<Long> roomIds = new ArrayList<>();
+        rooms.forEach((roomId, state) -> {
+            if (state.available() && state.location().equalsIgnoreCase(location) && state.isFree(in, out)) {
+                roomIds.add(roomId);
+            }
+        });
+        return roomIds;
+    }
+
+    public Map<Long, RoomState> export() {
+        return new HashMap<>(rooms);
+    }
+
+    public LocalDate getHorizon() {
+        return horizon;
+    }
+
+    public void restore(Map<Long, RoomState> states, LocalDate snapshotHorizon) {
+        synchronized (pendingRooms) {
+            building = true;
+        }
+        horizon = snapshotHorizon;
+        rooms = new ConcurrentHashMap<>(states);
+        ready = true;
+        applyPending();
+        listeners.forEach(Listener::rebuilt);
+    }
+
+    public void reloadRoom(Long roomId) {
+        synchronized (pendingRooms) {
+            if (!ready || building) {
+                pendingRooms.add(roomId);
+                // Whatever answered in the meantime (the old map or the database) is stale now
+                listeners.forEach(listener -> listener.roomChanged(roomId));
+                return;
+            }
+        }
+        load(roomId);
+    }
+
+    private void applyPending() {
+        while (true) {
+            List<Long> roomIds;
+            synchronized (pendingRooms) {
+                if (pendingRooms.isEmpty()) {
+                    building = false;
+                    return;
+                }
+                roomIds = new ArrayList<>(pendingRooms);
+                pendingRooms.clear();
+            }
+            roomIds.forEach(this::load);
+        }
+    }
+
+    private void load(Long roomId) {
+        Map<Long, RoomState> rooms = this.rooms;
+        roomRepository.findById(roomId).ifPresentOrElse(room -> {
+            List<int[]> stays = new ArrayList<>();
+            for (Object[] row : roomRepository.findConfirmedStaysForRoom(roomId, horizon)) {
+                stays.add(new int[]{toDay((LocalDate) row[0]), toDay((LocalDate) row[1])});
+            }
+            rooms.put(roomId, new RoomState(room.getLocation(), room.isAvailable(), toArray(stays)));
+        }, () -> rooms.remove(roomId));
+        listeners.forEach(listener -> listener.roomChanged(roomId));
+    }
+
+    private static int toDay(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+    private static int[] toArray(List<int[]> stays) {
+        if (stays == null) {
+            return new int[0];
+        }
+        int[] flat = new int[stays.size() * 2];
+        for (int i = 0; i < stays.size(); i++) {
+            flat[i * 2] = stays.get(i)[0];
+            flat[i * 2 + 1] = stays.get(i)[1];
+        }
+        return flat;
+    }
+
+    public interface Listener {
+
+        void roomChanged(Long roomId);
+
+        void rebuilt();
+    }
+
+    // stays holds [checkIn, checkOut] pairs as epoch days
+    public record RoomState(String location, boolean available, int[] stays) {
+
+        boolean isFree(int checkIn, int checkOut) {
+            for (int i = 0; i < stays.length; i += 2) {
+                if (stays[i] <= checkOut && stays[i + 1] >= checkIn) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
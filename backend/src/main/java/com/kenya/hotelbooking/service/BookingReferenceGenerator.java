@@ -0,0 +1,59 @@
+package com.kenya.hotelbooking.service;
+
+import com.kenya.hotelbooking.cache.NodeIdentity;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+// Booking references that sort by creation time and never collide across nodes, without
+// asking the database: 41 bits of milliseconds since 2025-01-01, 10 bits of node id and
+// a 12-bit per-millisecond sequence, written as 13 Crockford base-32 characters.
+// The node id is NodeIdentity's (cache.node-id or a leased id), unique among running nodes.
+// New rows land at the right-hand end of the booking_reference index instead of at
+// random positions.
+@Component
+public class BookingReferenceGenerator {
+
+    private static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int LENGTH = 13;
+
+    private final NodeIdentity nodeIdentity;
+    private long lastMillis = -1;
+    private long sequence;
+
+    public BookingReferenceGenerator(NodeIdentity nodeIdentity) {
+        this.nodeIdentity = nodeIdentity;
+    }
+
+    public synchronized String next() {
+        long now = currentTimeMillis() - EPOCH;
+        if (now > lastMillis) {
+            lastMillis = now;
+            sequence = 0;
+        } else if (++sequence > MAX_SEQUENCE) {
+            // Clock went backwards or 4096 references this millisecond: borrow the next one
+            lastMillis++;
+            sequence = 0;
+        }
+        long nodeId = nodeIdentity.getNumericId();
+        return encode((lastMillis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence);
+    }
+
+    // Overridden in tests to move the clock
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private static String encode(long value) {
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -7,12 +7,15 @@ import com.cyborg.hotelbooking.entity.Room;
 import com.cyborg.hotelbooking.repository.BookingRepository;
 import com.cyborg.hotelbooking.repository.CustomerRepository;
 import com.cyborg.hotelbooking.repository.RoomRepository;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import com.kenya.hotelbooking.cache.InvalidationBus;
+import com.kenya.hotelbooking.cache.RecentBookingCache;
+import com.kenya.hotelbooking.cache.RoomChange;
+import com.kenya.hotelbooking.mail.ConfirmationMailDispatcher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 
@@ -21,20 +24,32 @@ import java.time.temporal.ChronoUnit;
 @Transactional
 public class BookingService {
 
+    // Also quoted in the confirmation email, so the promise and the rule can't drift apart
+    public static final Duration FREE_CANCELLATION_WINDOW = Duration.ofHours(24);
+
     private final BookingRepository bookingRepository;
     private final RoomRepository roomRepository;
     private final CustomerRepository customerRepository;
-    private final JavaMailSender mailSender;
+    private final ConfirmationMailDispatcher confirmationMail;
+    private final InvalidationBus invalidationBus;
+    private final BookingReferenceGenerator referenceGenerator;
+    private final RecentBookingCache recentBookings;
 
     // Constructor Dependency Injection
     public BookingService(BookingRepository bookingRepository,
                           RoomRepository roomRepository,
                           CustomerRepository customerRepository,
-                          JavaMailSender mailSender) {
+                          ConfirmationMailDispatcher confirmationMail,
+                          InvalidationBus invalidationBus,
+                          BookingReferenceGenerator referenceGenerator,
+                          RecentBookingCache recentBookings) {
         this.bookingRepository = bookingRepository;
         this.roomRepository = roomRepository;
         this.customerRepository = customerRepository;
-        this.mailSender = mailSender;
+        this.confirmationMail = confirmationMail;
+        this.invalidationBus = invalidationBus;
+        this.referenceGenerator = referenceGenerator;
+        this.recentBookings = recentBookings;
     }
 
     public Booking createBooking(BookingRequest request) {
@@ -84,46 +99,31 @@ public class BookingService {
         booking.setCheckInDate(request.getCheckInDate());
         booking.setCheckOutDate(request.getCheckOutDate());
         booking.setTotalPrice(totalPrice);
+        booking.setBookingReference(referenceGenerator.next());
 
         Booking savedBooking = bookingRepository.save(booking);
+        invalidationBus.publish(room.getId(), RoomChange.Type.OCCUPANCY);
+        recentBookings.putAfterCommit(savedBooking);
 
-        // Send confirmation email
-        sendConfirmationEmail(savedBooking);
+        // Send confirmation email (rendered and sent on the mail workers after commit)
+        confirmationMail.enqueueAfterCommit(savedBooking);
 
         return savedBooking;
     }
 
-    private void sendConfirmationEmail(Booking booking) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(booking.getCustomer().getEmail());
-        message.setSubject("Booking Confirmation - " + booking.getBookingReference());
-        message.setText(
-                "Karibu! Your booking has been confirmed.\n\n" +
-                        "Booking Details:\n" +
-                        "Reference: " + booking.getBookingReference() + "\n" +
-                        "Hotel: " + booking.getRoom().getLocation() + "\n" +
-                        "Room: " + booking.getRoom().getRoomNumber() + " (" + booking.getRoom().getRoomType() + ")\n" +
-                        "Check-in: " + booking.getCheckInDate() + "\n" +
-                        "Check-out: " + booking.getCheckOutDate() + "\n" +
-                        "Total Price: KES " + booking.getTotalPrice() + "\n\n" +
-                        "Thank you for choosing Kenyan Hospitality!\n" +
-                        "For inquiries, call: +254 700 000 000"
-        );
-
-        try {
-            mailSender.send(message);
-            booking.setEmailSent(true);
-            bookingRepository.save(booking);
-        } catch (Exception e) {
-            System.err.println("Failed to send email: " + e.getMessage());
-        }
-    }
-
+    @Transactional(readOnly = true)
     public List<Booking> getBookingsByEmail(String email) {
         return bookingRepository.findByCustomerEmail(email);
     }
 
+    // Read-only so a miss is served by the replica. The routing data source sits behind
+    // a lazy connection proxy, so a cache hit never checks out a connection at all.
+    @Transactional(readOnly = true)
     public Booking getBookingByReference(String reference) {
+        Booking recent = recentBookings.get(reference);
+        if (recent != null) {
+            return recent;
+        }
         return bookingRepository.findByBookingReference(reference)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
     }
@@ -132,11 +132,14 @@ public class BookingService {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-        if (booking.getCheckInDate().isBefore(LocalDate.now().plusDays(1))) {
-            throw new RuntimeException("Cannot cancel booking less than 24 hours before check-in");
+        if (booking.getCheckInDate().isBefore(LocalDate.now().plusDays(FREE_CANCELLATION_WINDOW.toDays()))) {
+            throw new RuntimeException("Cannot cancel booking less than "
+                    + FREE_CANCELLATION_WINDOW.toHours() + " hours before check-in");
         }
 
         booking.setStatus(Booking.BookingStatus.CANCELLED);
         bookingRepository.save(booking);
+        recentBookings.evict(booking.getBookingReference());
+        invalidationBus.publish(booking.getRoom().getId(), RoomChange.Type.OCCUPANCY);
     }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.kenya.hotelbooking.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class DiagnosticsService {
+
+    private final Statistics statistics;
+    private final long slowQueryMillis;
+
+    public DiagnosticsService(EntityManagerFactory entityManagerFactory,
+                              @Value("${hotel.hibernate.slow-query-ms:200}") long slowQueryMillis) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.slowQueryMillis = slowQueryMillis;
+    }
+
+    public Map<String, Object> getHibernateStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("since", statistics.getStart());
+
+        // Round trips to the database
+        result.put("prepareStatementCount", statistics.getPrepareStatementCount());
+        result.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        result.put("entityLoadCount", statistics.getEntityLoadCount());
+        result.put("collectionLoadCount", statistics.getCollectionLoadCount());
+
+        result.put("secondLevelCacheHitCount", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelCacheMissCount", statistics.getSecondLevelCacheMissCount());
+        result.put("secondLevelCachePutCount", statistics.getSecondLevelCachePutCount());
+        result.put("queryCacheHitCount", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMissCount", statistics.getQueryCacheMissCount());
+        result.put("queryCachePutCount", statistics.getQueryCachePutCount());
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                regions.put(region, Map.of(
+                        "hits", regionStatistics.getHitCount(),
+                        "misses", regionStatistics.getMissCount(),
+                        "puts", regionStatistics.getPutCount()));
+            }
+        }
+        result.put("cacheRegions", regions);
+
+        result.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        result.put("slowestQueryMillis", statistics.getQueryExecutionMaxTime());
+        result.put("slowQueries", getSlowQueries());
+        return result;
+    }
+
+    public void resetStatistics() {
+        statistics.clear();
+    }
+
+    private List<Map<String, Object>> getSlowQueries() {
+        List<Map<String, Object>> slowQueries = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            if (queryStatistics.getExecutionMaxTime() >= slowQueryMillis) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("query", query);
+                entry.put("executions", queryStatistics.getExecutionCount());
+                entry.put("avgMillis", queryStatistics.getExecutionAvgTime());
+                entry.put("maxMillis", queryStatistics.getExecutionMaxTime());
+                entry.put("cacheHits", queryStatistics.getCacheHitCount());
+                slowQueries.add(entry);
+            }
+        }
+        slowQueries.sort((a, b) -> Long.compare((Long) b.get("maxMillis"), (Long) a.get("maxMillis")));
+        return slowQueries;
+    }
+}
@@ -2,11 +2,23 @@ package com.kenya.hotelbooking.service;
 
 import com.cyborg.hotelbooking.entity.Room;
 import com.cyborg.hotelbooking.repository.RoomRepository;
+import com.kenya.hotelbooking.cache.AvailabilityCache;
+import com.kenya.hotelbooking.cache.InvalidationBus;
+import com.kenya.hotelbooking.cache.RoomChange;
+import com.kenya.hotelbooking.cache.RoomCache;
+import com.kenya.hotelbooking.config.RoutingContext;
+import com.kenya.hotelbooking.search.AmenityIndex;
+import com.kenya.hotelbooking.search.RoomAvailabilityIndex;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 
 @SuppressWarnings("ALL")
 @Service
@@ -14,37 +26,124 @@ import java.util.List;
 public class RoomService {
 
     private final RoomRepository roomRepository;
+    private final RoomCache roomCache;
+    private final AvailabilityCache availabilityCache;
+    private final InvalidationBus invalidationBus;
+    private final AmenityIndex amenityIndex;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final EntityManager entityManager;
 
     // Dependency Injection through constructor (Exam Concept: Dependency Injection)
     // Spring automatically injects the RoomRepository dependency
-    public RoomService(RoomRepository roomRepository) {
+    public RoomService(RoomRepository roomRepository,
+                       RoomCache roomCache,
+                       AvailabilityCache availabilityCache,
+                       InvalidationBus invalidationBus,
+                       AmenityIndex amenityIndex,
+                       RoomAvailabilityIndex availabilityIndex,
+                       EntityManager entityManager) {
         this.roomRepository = roomRepository;
+        this.roomCache = roomCache;
+        this.availabilityCache = availabilityCache;
+        this.invalidationBus = invalidationBus;
+        this.amenityIndex = amenityIndex;
+        this.availabilityIndex = availabilityIndex;
+        this.entityManager = entityManager;
     }
 
+    @Transactional(readOnly = true)
     public List<Room> getAllRooms() {
         return roomRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Room getRoomById(Long id) {
-        return roomRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Room not found with id: " + id));
+        // A client that just wrote must not get an entry refilled from a lagging replica
+        if (RoutingContext.isPinnedToPrimary()) {
+            return findRoom(id);
+        }
+        return roomCache.get(id, this::findRoom);
     }
 
+    @Transactional(readOnly = true)
     public List<Room> getAvailableRooms(String location, LocalDate checkIn, LocalDate checkOut) {
         if (checkIn != null && checkOut != null) {
             if (checkIn.isAfter(checkOut)) {
                 throw new IllegalArgumentException("Check-in date must be before check-out date");
             }
-            return roomRepository.findAvailableRooms(location, checkIn, checkOut);
+            if (RoutingContext.isPinnedToPrimary()) {
+                return roomRepository.findAvailableRooms(location, checkIn, checkOut);
+            }
+            return loadRooms(availabilityCache.getRoomIds(location, checkIn, checkOut, () -> {
+                if (availabilityIndex.canAnswer(checkIn)) {
+                    return availabilityIndex.findAvailableRoomIds(location, checkIn, checkOut);
+                }
+                return idsOf(roomRepository.findAvailableRooms(location, checkIn, checkOut));
+            }));
+        }
+        if (RoutingContext.isPinnedToPrimary()) {
+            return roomRepository.findByLocationAndIsAvailableTrue(location);
+        }
+        return loadRooms(availabilityCache.getRoomIds(location, null, null,
+                () -> idsOf(roomRepository.findByLocationAndIsAvailableTrue(location))));
+    }
+
+    // Location/date availability first, then narrowed by the amenity bitmap (or by each
+    // room's own amenities while the index is still being built)
+    @Transactional(readOnly = true)
+    public List<Room> searchRooms(String location, LocalDate checkIn, LocalDate checkOut, List<String> amenities) {
+        List<Room> rooms = getAvailableRooms(location, checkIn, checkOut);
+        if (amenities == null || amenities.isEmpty()) {
+            return rooms;
         }
-        return roomRepository.findByLocationAndIsAvailableTrue(location);
+        if (!amenityIndex.isReady()) {
+            List<String> wanted = amenities.stream().map(RoomService::normalizeAmenity).toList();
+            return rooms.stream()
+                    .filter(room -> room.getAmenities().stream()
+                            .map(RoomService::normalizeAmenity)
+                            .toList()
+                            .containsAll(wanted))
+                    .toList();
+        }
+        BitSet matching = amenityIndex.roomsWithAll(amenities);
+        return rooms.stream()
+                .filter(room -> amenityIndex.contains(matching, room.getId()))
+                .toList();
     }
 
     public Room saveRoom(Room room) {
-        return roomRepository.save(room);
+        Room savedRoom = roomRepository.save(room);
+        invalidationBus.publish(savedRoom.getId(), RoomChange.Type.CATALOG);
+        return savedRoom;
     }
 
     public void deleteRoom(Long id) {
         roomRepository.deleteById(id);
+        invalidationBus.publish(id, RoomChange.Type.CATALOG);
+    }
+
+    private Room findRoom(Long roomId) {
+        return roomRepository.findById(roomId)
+                .orElseThrow(() -> new RuntimeException("Room not found with id: " + roomId));
+    }
+
+    // Cached searches hold ids only; rooms are loaded fresh into this request's session.
+    // multiLoad serves what it can from the second-level cache and batches the rest
+    // into one IN query, keeping the order of the ids (null for rooms deleted since).
+    private List<Room> loadRooms(List<Long> roomIds) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Room.class)
+                .multiLoad(roomIds)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static String normalizeAmenity(String amenity) {
+        return amenity.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<Long> idsOf(List<Room> rooms) {
+        return rooms.stream().map(Room::getId).toList();
     }
 }
\ No newline at end of file
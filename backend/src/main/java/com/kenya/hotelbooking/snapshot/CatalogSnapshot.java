@@ -0,0 +1,15 @@
+package com.kenya.hotelbooking.snapshot;
+
+import com.kenya.hotelbooking.search.AmenityIndex;
+import com.kenya.hotelbooking.search.RoomAvailabilityIndex;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// Point-in-time copy of the catalog (amenity index) and occupancy (availability index).
+// Rooms with room_change_log rows from shortly before createdAtMillis onwards are
+// reloaded after a restore.
+public record CatalogSnapshot(long createdAtMillis,
+                              LocalDate horizon,
+                              AmenityIndex.State amenities,
+                              Map<Long, RoomAvailabilityIndex.RoomState> rooms) {}
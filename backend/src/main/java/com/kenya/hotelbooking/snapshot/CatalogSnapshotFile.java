@@ -0,0 +1,193 @@
+package com.kenya.hotelbooking.snapshot;
+
+import com.kenya.hotelbooking.search.AmenityIndex;
+import com.kenya.hotelbooking.search.RoomAvailabilityIndex;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.zip.CRC32;
+
+// Binary layout (big-endian), columns stored one after another:
+//   header    magic, version, createdAt, horizon (epoch day)
+//   strings   amenity dictionary, location dictionary (count, then u16 length + UTF-8)
+//   rooms     count, ids[], locationIdx[], available[], amenityOffsets[count + 1], amenityIds[]
+//   stays     stayOffsets[count + 1], stayDays[] (checkIn/checkOut epoch-day pairs)
+//   trailer   CRC32 of everything above
+final class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x4842534E; // "HBSN"
+    private static final int VERSION = 2;
+
+    private CatalogSnapshotFile() {}
+
+    static void write(CatalogSnapshot snapshot, Path target) throws IOException {
+        List<Long> roomIds = new ArrayList<>(snapshot.rooms().keySet());
+        Map<Long, int[]> amenitiesByRoom = snapshot.amenities().amenitiesByRoom();
+
+        Map<String, Integer> locations = new LinkedHashMap<>();
+        for (Long roomId : roomIds) {
+            locations.putIfAbsent(snapshot.rooms().get(roomId).location(), locations.size());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(snapshot.createdAtMillis());
+        out.writeLong(snapshot.horizon().toEpochDay());
+
+        writeStrings(out, snapshot.amenities().amenityNames());
+        writeStrings(out, new ArrayList<>(locations.keySet()));
+
+        out.writeInt(roomIds.size());
+        for (Long roomId : roomIds) {
+            out.writeLong(roomId);
+        }
+        for (Long roomId : roomIds) {
+            out.writeInt(locations.get(snapshot.rooms().get(roomId).location()));
+        }
+        for (Long roomId : roomIds) {
+            out.writeByte(snapshot.rooms().get(roomId).available() ? 1 : 0);
+        }
+        writeOffsets(out, roomIds, id -> amenitiesByRoom.getOrDefault(id, new int[0]).length);
+        for (Long roomId : roomIds) {
+            for (int amenityId : amenitiesByRoom.getOrDefault(roomId, new int[0])) {
+                out.writeInt(amenityId);
+            }
+        }
+        writeOffsets(out, roomIds, id -> snapshot.rooms().get(id).stays().length);
+        for (Long roomId : roomIds) {
+            for (int day : snapshot.rooms().get(roomId).stays()) {
+                out.writeInt(day);
+            }
+        }
+        out.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+
+        // Write next to the target and swap in, so readers never see a half-written file
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static CatalogSnapshot read(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 36 || size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot has invalid size " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, (int) size - 4));
+            if ((int) crc.getValue() != buffer.getInt((int) size - 4)) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a catalog snapshot");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            long createdAt = buffer.getLong();
+            LocalDate horizon = LocalDate.ofEpochDay(buffer.getLong());
+
+            List<String> amenityNames = readStrings(buffer);
+            List<String> locations = readStrings(buffer);
+
+            int roomCount = buffer.getInt();
+            long[] roomIds = new long[roomCount];
+            for (int i = 0; i < roomCount; i++) {
+                roomIds[i] = buffer.getLong();
+            }
+            int[] locationIdx = readInts(buffer, roomCount);
+            byte[] available = new byte[roomCount];
+            buffer.get(available);
+            int[] amenityOffsets = readInts(buffer, roomCount + 1);
+            int[] amenityIds = readInts(buffer, amenityOffsets[roomCount]);
+            int[] stayOffsets = readInts(buffer, roomCount + 1);
+            int[] stayDays = readInts(buffer, stayOffsets[roomCount]);
+
+            Map<Long, int[]> amenitiesByRoom = new HashMap<>();
+            Map<Long, RoomAvailabilityIndex.RoomState> rooms = new HashMap<>();
+            for (int i = 0; i < roomCount; i++) {
+                if (amenityOffsets[i + 1] > amenityOffsets[i]) {
+                    amenitiesByRoom.put(roomIds[i], 
+                            Arrays.copyOfRange(amenityIds, amenityOffsets[i], amenityOffsets[i + 1]));
+                }
+                rooms.put(roomIds[i], new RoomAvailabilityIndex.RoomState(
+                        locations.get(locationIdx[i]),
+                        available[i] == 1,
+                        Arrays.copyOfRange(stayDays, stayOffsets[i], stayOffsets[i + 1])));
+            }
+
+            return new CatalogSnapshot(createdAt, horizon,
+                    new AmenityIndex.State(amenityNames, amenitiesByRoom), rooms);
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(utf8.length);
+            out.write(utf8);
+        }
+    }
+
+    private static List<String> readStrings(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] utf8 = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(utf8);
+            values.add(new String(utf8, StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+
+    private static void writeOffsets(DataOutputStream out, List<Long> roomIds,
+                                     ToIntFunction<Long> length) throws IOException {
+        int offset = 0;
+        out.writeInt(offset);
+        for (Long roomId : roomIds) {
+            offset += length.applyAsInt(roomId);
+            out.writeInt(offset);
+        }
+    }
+
+    private static int[] readInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+}
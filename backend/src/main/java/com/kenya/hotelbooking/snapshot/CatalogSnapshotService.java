@@ -0,0 +1,137 @@
+package com.kenya.hotelbooking.snapshot;
+
+import com.kenya.hotelbooking.repository.RoomChangeLogRepository;
+import com.kenya.hotelbooking.search.AmenityIndex;
+import com.kenya.hotelbooking.search.RoomAvailabilityIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+// Warms the amenity and availability indexes at startup from the last snapshot file
+// plus the room_change_log entries written since, instead of reading every room,
+// amenity and booking through Hibernate. Falls back to a full rebuild when the file
+// is missing, corrupt, or older than the change log retention.
+// Replay needs room_change_log, which only the changelog invalidation mode writes; in
+// broker mode snapshots are neither written nor restored and startup always rebuilds.
+// Both indexes are also rebuilt from the database every snapshot.reconcile-interval-ms,
+// which repairs anything an invalidation event failed to deliver.
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private final AmenityIndex amenityIndex;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomChangeLogRepository changeLogRepository;
+    private final Path snapshotPath;
+    private final long retentionMillis;
+    private final long lookbackMillis;
+    private final boolean replayable;
+
+    private volatile boolean warmedUp;
+
+    public CatalogSnapshotService(AmenityIndex amenityIndex,
+                                  RoomAvailabilityIndex availabilityIndex,
+                                  RoomChangeLogRepository changeLogRepository,
+                                  @Value("${snapshot.path:data/catalog.snap}") String snapshotPath,
+                                  @Value("${cache.invalidation.retention-minutes:60}") long retentionMinutes,
+                                  @Value("${cache.invalidation.lookback-ms:10000}") long lookbackMillis,
+                                  @Value("${cache.invalidation.mode:changelog}") String invalidationMode) {
+        this.amenityIndex = amenityIndex;
+        this.availabilityIndex = availabilityIndex;
+        this.changeLogRepository = changeLogRepository;
+        this.snapshotPath = Paths.get(snapshotPath);
+        this.retentionMillis = Duration.ofMinutes(retentionMinutes).toMillis();
+        this.lookbackMillis = lookbackMillis;
+        this.replayable = "changelog".equals(invalidationMode);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long started = System.currentTimeMillis();
+        if (!loadSnapshot()) {
+            amenityIndex.build();
+            availabilityIndex.build();
+            log.info("Catalog indexes rebuilt from database in {} ms", System.currentTimeMillis() - started);
+        } else {
+            log.info("Catalog indexes restored from snapshot in {} ms", System.currentTimeMillis() - started);
+        }
+        warmedUp = true;
+    }
+
+    @Scheduled(fixedDelayString = "${snapshot.reconcile-interval-ms:900000}",
+            initialDelayString = "${snapshot.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        if (!warmedUp) {
+            return;
+        }
+        amenityIndex.build();
+        availabilityIndex.build();
+    }
+
+    @Scheduled(fixedDelayString = "${snapshot.interval-ms:300000}", initialDelayString = "${snapshot.interval-ms:300000}")
+    public void writeSnapshot() {
+        if (!warmedUp || !replayable) {
+            return;
+        }
+        // Stamp before copying the indexes so replay covers anything written in between
+        CatalogSnapshot snapshot = new CatalogSnapshot(
+                System.currentTimeMillis(),
+                availabilityIndex.getHorizon(),
+                amenityIndex.export(),
+                availabilityIndex.export());
+        try {
+            CatalogSnapshotFile.write(snapshot, snapshotPath);
+        } catch (IOException e) {
+            log.warn("Failed to write catalog snapshot {}", snapshotPath, e);
+        }
+    }
+
+    private boolean loadSnapshot() {
+        if (!replayable || !Files.exists(snapshotPath)) {
+            return false;
+        }
+        CatalogSnapshot snapshot;
+        try {
+            snapshot = CatalogSnapshotFile.read(snapshotPath);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring catalog snapshot {}: {}", snapshotPath, e.getMessage());
+            return false;
+        }
+        // Older than the change log keeps, so some changes can no longer be replayed
+        if (System.currentTimeMillis() - snapshot.createdAtMillis() > retentionMillis) {
+            return false;
+        }
+
+        amenityIndex.restore(snapshot.amenities());
+        availabilityIndex.restore(snapshot.rooms(), snapshot.horizon());
+        replaySince(snapshot.createdAtMillis());
+        return true;
+    }
+
+    // By timestamp rather than id: a transaction that committed after the snapshot can
+    // hold a lower id than rows the snapshot already reflects
+    private void replaySince(long createdAtMillis) {
+        LocalDateTime since = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(createdAtMillis - lookbackMillis), ZoneId.systemDefault());
+        List<Long> changedRooms = changeLogRepository.findRoomIdsChangedSince(since);
+        for (Long roomId : changedRooms) {
+            amenityIndex.reloadRoom(roomId);
+            availabilityIndex.reloadRoom(roomId);
+        }
+    }
+}
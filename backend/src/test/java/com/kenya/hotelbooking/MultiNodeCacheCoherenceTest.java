@@ -0,0 +1,141 @@
+package com.kenya.hotelbooking;
+
+import com.kenya.hotelbooking.cache.NodeIdentity;
+import com.kenya.hotelbooking.dto.BookingRequest;
+import com.kenya.hotelbooking.entity.Booking;
+import com.kenya.hotelbooking.entity.Room;
+import com.kenya.hotelbooking.service.BookingService;
+import com.kenya.hotelbooking.service.RoomService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// Two application contexts on one shared H2 database stand in for two nodes. Neither
+// sets cache.node-id, so each leases its own id from node_lease.
+// Caches are never allowed to expire on their own here, so every refresh seen on
+// node B must come from an invalidation published by node A.
+class MultiNodeCacheCoherenceTest {
+
+    private static final long POLL_INTERVAL_MS = 200;
+    private static final Duration WITHIN_POLL = Duration.ofMillis(POLL_INTERVAL_MS * 10);
+
+    @TempDir
+    static Path snapshotDir;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("a");
+        nodeB = startNode("b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) nodeB.close();
+        if (nodeA != null) nodeA.close();
+    }
+
+    private static ConfigurableApplicationContext startNode(String name) {
+        return new SpringApplicationBuilder(HotelBookingApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:coherence;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.mail.host=localhost",
+                        "spring.mail.port=2",
+                        "cache.invalidation.mode=changelog",
+                        "cache.invalidation.poll-interval-ms=" + POLL_INTERVAL_MS,
+                        "cache.max-staleness-ms=3600000",
+                        "snapshot.path=" + snapshotDir.resolve(name + ".snap"))
+                .run();
+    }
+
+    @Test
+    void nodesLeaseDistinctIds() {
+        assertThat(nodeA.getBean(NodeIdentity.class).getNumericId())
+                .isNotEqualTo(nodeB.getBean(NodeIdentity.class).getNumericId());
+    }
+
+    @Test
+    void cachedRoomIsNotSharedBetweenCallers() {
+        RoomService rooms = nodeA.getBean(RoomService.class);
+        Long roomId = rooms.getAllRooms().get(0).getId();
+        Room first = rooms.getRoomById(roomId);
+        String description = first.getDescription();
+
+        first.setDescription("changed by one caller");
+        first.getAmenities().add("Helipad");
+
+        Room second = rooms.getRoomById(roomId);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getDescription()).isEqualTo(description);
+        assertThat(second.getAmenities()).doesNotContain("Helipad");
+    }
+
+    @Test
+    void roomEditOnOneNodeEvictsTheOther() {
+        RoomService roomsA = nodeA.getBean(RoomService.class);
+        RoomService roomsB = nodeB.getBean(RoomService.class);
+        // getAllRooms isn't cached, so the edit below never touches a cached instance
+        Room room = roomsA.getAllRooms().get(0);
+        String original = roomsB.getRoomById(room.getId()).getDescription();
+
+        room.setDescription(original + " (renovated)");
+        roomsA.saveRoom(room);
+
+        await().atMost(WITHIN_POLL).untilAsserted(() ->
+                assertThat(roomsB.getRoomById(room.getId()).getDescription())
+                        .isEqualTo(original + " (renovated)"));
+    }
+
+    @Test
+    void bookingAndCancellationOnOneNodeEvictTheOther() {
+        RoomService roomsB = nodeB.getBean(RoomService.class);
+        BookingService bookingsA = nodeA.getBean(BookingService.class);
+        Room room = nodeA.getBean(RoomService.class).getAllRooms().get(0);
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        LocalDate checkOut = checkIn.plusDays(2);
+
+        assertThat(availableIds(roomsB, room, checkIn, checkOut)).contains(room.getId());
+
+        BookingRequest request = new BookingRequest();
+        request.setRoomId(room.getId());
+        request.setFirstName("Wanjiru");
+        request.setLastName("Kamau");
+        request.setEmail("wanjiru@example.com");
+        request.setPhoneNumber("+254700000000");
+        request.setCheckInDate(checkIn);
+        request.setCheckOutDate(checkOut);
+        Booking booking = bookingsA.createBooking(request);
+
+        await().atMost(WITHIN_POLL).untilAsserted(() ->
+                assertThat(availableIds(roomsB, room, checkIn, checkOut)).doesNotContain(room.getId()));
+
+        bookingsA.cancelBooking(booking.getId());
+
+        await().atMost(WITHIN_POLL).untilAsserted(() ->
+                assertThat(availableIds(roomsB, room, checkIn, checkOut)).contains(room.getId()));
+    }
+
+    private static List<Long> availableIds(RoomService rooms, Room room, LocalDate checkIn, LocalDate checkOut) {
+        return rooms.getAvailableRooms(room.getLocation(), checkIn, checkOut).stream()
+                .map(Room::getId)
+                .toList();
+    }
+}
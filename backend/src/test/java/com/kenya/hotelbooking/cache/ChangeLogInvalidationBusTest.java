@@ -0,0 +1,62 @@
+package com.kenya.hotelbooking.cache;
+
+import com.kenya.hotelbooking.entity.RoomChangeLog;
+import com.kenya.hotelbooking.repository.RoomChangeLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChangeLogInvalidationBusTest {
+
+    private final RoomChangeLogRepository repository = mock(RoomChangeLogRepository.class);
+    private final List<RoomChange> received = new ArrayList<>();
+    private ChangeLogInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        NodeIdentity nodeIdentity = mock(NodeIdentity.class);
+        when(nodeIdentity.getNodeId()).thenReturn("1");
+        bus = new ChangeLogInvalidationBus(repository, nodeIdentity, 60, 10_000);
+        bus.subscribe(received::add);
+    }
+
+    @Test
+    void rowCommittedOutOfIdOrderIsStillDelivered() {
+        LocalDateTime now = LocalDateTime.now();
+        RoomChangeLog later = row(2L, 20L, "2", now);
+        // Written first but committed after row 2 was already polled
+        RoomChangeLog earlier = row(1L, 10L, "2", now.minusSeconds(1));
+
+        when(repository.findByChangedAtGreaterThanEqualOrderByIdAsc(any())).thenReturn(List.of(later));
+        bus.poll();
+        when(repository.findByChangedAtGreaterThanEqualOrderByIdAsc(any())).thenReturn(List.of(earlier, later));
+        bus.poll();
+
+        assertThat(received).extracting(RoomChange::roomId).containsExactly(20L, 10L);
+        assertThat(received).allMatch(change -> !change.local());
+    }
+
+    @Test
+    void ownRowsAreSkipped() {
+        when(repository.findByChangedAtGreaterThanEqualOrderByIdAsc(any()))
+                .thenReturn(List.of(row(3L, 30L, "1", LocalDateTime.now())));
+        bus.poll();
+
+        assertThat(received).isEmpty();
+    }
+
+    private static RoomChangeLog row(Long id, Long roomId, String originNode, LocalDateTime changedAt) {
+        RoomChangeLog row = new RoomChangeLog(roomId, RoomChange.Type.OCCUPANCY, originNode);
+        row.setId(id);
+        row.setChangedAt(changedAt);
+        return row;
+    }
+}
@@ -0,0 +1,99 @@
+package com.kenya.hotelbooking.cache;
+
+import com.kenya.hotelbooking.entity.Booking;
+import com.kenya.hotelbooking.entity.Customer;
+import com.kenya.hotelbooking.entity.Room;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class RecentBookingCacheTest {
+
+    private final RecentBookingCache cache = new RecentBookingCache(mock(InvalidationBus.class), 100);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void bookingIsReadBackOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.putAfterCommit(booking("REF1", 5L));
+        assertThat(cache.get("REF1")).isNull();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        Booking readBack = cache.get("REF1");
+        assertThat(readBack).isNotNull();
+        assertThat(readBack.getBookingReference()).isEqualTo("REF1");
+        assertThat(readBack.getRoom().getId()).isEqualTo(5L);
+        assertThat(readBack.getRoom().getAmenities()).containsExactly("WiFi", "Pool");
+        assertThat(readBack.getCustomer().getEmail()).isEqualTo("amani@example.com");
+    }
+
+    @Test
+    void everyReadGetsItsOwnCopy() {
+        Booking original = booking("REF2", 5L);
+        cache.putAfterCommit(original);
+
+        Booking first = cache.get("REF2");
+        first.setTotalPrice(BigDecimal.ONE);
+        first.getRoom().getAmenities().clear();
+        original.setTotalPrice(BigDecimal.TEN);
+
+        Booking second = cache.get("REF2");
+        assertThat(second).isNotSameAs(first).isNotSameAs(original);
+        assertThat(second.getTotalPrice()).isEqualByComparingTo("18000.00");
+        assertThat(second.getRoom().getAmenities()).containsExactly("WiFi", "Pool");
+    }
+
+    @Test
+    void sentConfirmationAndRoomChangesDropEntries() {
+        cache.putAfterCommit(booking("REF3", 5L));
+        cache.putAfterCommit(booking("REF4", 6L));
+
+        cache.evictAll(List.of("REF3"));
+        cache.evictRoom(6L);
+
+        assertThat(cache.get("REF3")).isNull();
+        assertThat(cache.get("REF4")).isNull();
+    }
+
+    private static Booking booking(String reference, Long roomId) {
+        Room room = new Room();
+        room.setId(roomId);
+        room.setRoomNumber("10" + roomId);
+        room.setRoomType("DOUBLE");
+        room.setPricePerNight(new BigDecimal("9000.00"));
+        room.setLocation("Mombasa");
+        room.setAmenities(new ArrayList<>(List.of("WiFi", "Pool")));
+
+        Customer customer = new Customer();
+        customer.setFirstName("Amani");
+        customer.setLastName("Njeri");
+        customer.setEmail("amani@example.com");
+
+        Booking booking = new Booking();
+        booking.setBookingReference(reference);
+        booking.setRoom(room);
+        booking.setCustomer(customer);
+        booking.setCheckInDate(LocalDate.now().plusDays(10));
+        booking.setCheckOutDate(LocalDate.now().plusDays(12));
+        booking.setTotalPrice(new BigDecimal("18000.00"));
+        return booking;
+    }
+}
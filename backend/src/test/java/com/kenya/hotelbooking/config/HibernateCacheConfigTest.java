@@ -0,0 +1,77 @@
+package com.kenya.hotelbooking.config;
+
+import com.kenya.hotelbooking.entity.Room;
+import com.kenya.hotelbooking.service.RoomService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The availability index answers which rooms match without touching the database, so
+// the only statements a search issues are the room loads that the second-level cache
+// is meant to absorb.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hibernate-cache;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.mail.host=localhost",
+        "spring.mail.port=2",
+        "hotel.hibernate.cache=true",
+        "hotel.hibernate.statistics=true",
+        "snapshot.path=target/hibernate-cache-test.snap"
+})
+class HibernateCacheConfigTest {
+
+    private static final String LOCATION = "Lamu";
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void repeatedSearchIsServedFromTheSecondLevelCache() {
+        for (int i = 1; i <= 3; i++) {
+            roomService.saveRoom(room("L2-" + i));
+        }
+        RoutingContext.clear();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        Statistics statistics = sessionFactory.getStatistics();
+        LocalDate checkIn = LocalDate.now().plusDays(20);
+        LocalDate checkOut = checkIn.plusDays(2);
+
+        statistics.clear();
+        List<Room> first = roomService.getAvailableRooms(LOCATION, checkIn, checkOut);
+        long firstStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<Room> second = roomService.getAvailableRooms(LOCATION, checkIn, checkOut);
+        long secondStatements = statistics.getPrepareStatementCount();
+
+        assertThat(second).extracting(Room::getId).isEqualTo(first.stream().map(Room::getId).toList());
+        assertThat(first).hasSize(3);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(0);
+        assertThat(secondStatements).isLessThan(firstStatements);
+    }
+
+    private static Room room(String number) {
+        Room room = new Room();
+        room.setRoomNumber(number);
+        room.setRoomType("DOUBLE");
+        room.setPricePerNight(new BigDecimal("9000.00"));
+        room.setLocation(LOCATION);
+        room.setCapacity(2);
+        return room;
+    }
+}
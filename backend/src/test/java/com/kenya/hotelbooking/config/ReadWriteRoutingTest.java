@@ -0,0 +1,168 @@
+package com.kenya.hotelbooking.config;
+
+import com.kenya.hotelbooking.dto.BookingRequest;
+import com.kenya.hotelbooking.entity.Booking;
+import com.kenya.hotelbooking.entity.Room;
+import com.kenya.hotelbooking.service.BookingService;
+import com.kenya.hotelbooking.service.RoomService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Primary and replica are two separate H2 databases with no replication between them,
+// so the rows a request sees tell which pool served it: R-REPLICA exists only on the
+// replica and R-PINNED only on the primary.
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadWriteRoutingTest.PRIMARY_URL,
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "hotel.datasource.replica.url=" + ReadWriteRoutingTest.REPLICA_URL,
+        "spring.mail.host=localhost",
+        "spring.mail.port=2",
+        "snapshot.path=target/read-write-routing-test.snap"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReadWriteRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter;
+
+    @BeforeAll
+    void seedReplicaFromPrimary() throws Exception {
+        // Hibernate only creates the schema on the primary; clone it (with the seed data)
+        Path script = Files.createTempFile("routing-primary", ".sql");
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement onPrimary = primary.createStatement();
+             Statement onReplica = replica.createStatement()) {
+            onPrimary.execute("SCRIPT TO '" + script + "'");
+            onReplica.execute("RUNSCRIPT FROM '" + script + "'");
+            onReplica.executeUpdate(insertRoom(9001, "R-REPLICA"));
+            onPrimary.executeUpdate(insertRoom(9002, "R-PINNED"));
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+
+    @Test
+    @Order(1)
+    void readOnlyMethodsReadFromTheReplica() {
+        assertThat(roomService.getAllRooms())
+                .extracting(Room::getRoomNumber)
+                .contains("R-REPLICA")
+                .doesNotContain("R-PINNED");
+    }
+
+    @Test
+    @Order(2)
+    void writesGoToThePrimary() throws SQLException {
+        Room room = new Room();
+        room.setRoomNumber("R-WRITE");
+        room.setRoomType("SINGLE");
+        room.setPricePerNight(new BigDecimal("5000.00"));
+        room.setLocation("Nakuru");
+        room.setCapacity(1);
+        roomService.saveRoom(room);
+        RoutingContext.clear();
+
+        assertThat(countRooms(PRIMARY_URL, "R-WRITE")).isEqualTo(1);
+        assertThat(countRooms(REPLICA_URL, "R-WRITE")).isZero();
+    }
+
+    @Test
+    @Order(3)
+    void pinCookieSendsReadsToThePrimary() throws Exception {
+        mockMvc.perform(get("/api/rooms"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].roomNumber", hasItem("R-REPLICA")))
+                .andExpect(jsonPath("$[*].roomNumber", not(hasItem("R-PINNED"))));
+
+        Cookie pin = readYourWritesFilter.getFilter().primaryPinCookie();
+        mockMvc.perform(get("/api/rooms").cookie(pin))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].roomNumber", hasItem("R-PINNED")))
+                .andExpect(jsonPath("$[*].roomNumber", not(hasItem("R-REPLICA"))));
+    }
+
+    @Test
+    @Order(4)
+    void writeRequestSetsThePinCookieAndReadsDoNot() throws Exception {
+        mockMvc.perform(get("/api/rooms"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().doesNotExist(ReadYourWritesFilter.COOKIE_NAME));
+
+        BookingRequest request = new BookingRequest();
+        request.setRoomId(9002L);
+        request.setFirstName("Otieno");
+        request.setLastName("Odhiambo");
+        request.setEmail("otieno@example.com");
+        request.setPhoneNumber("+254711000000");
+        request.setCheckInDate(LocalDate.now().plusDays(10));
+        request.setCheckOutDate(LocalDate.now().plusDays(12));
+        Booking booking = bookingService.createBooking(request);
+        // The direct service call ran outside any request on this thread
+        RoutingContext.clear();
+
+        mockMvc.perform(put("/api/bookings/{id}/cancel", booking.getId()))
+                .andExpect(status().isNoContent())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME));
+    }
+
+    private static String insertRoom(long id, String roomNumber) {
+        return "INSERT INTO rooms (id, room_number, room_type, price_per_night, location, is_available, capacity) "
+                + "VALUES (" + id + ", '" + roomNumber + "', 'SINGLE', 4000.00, 'Nairobi', TRUE, 1)";
+    }
+
+    private static int countRooms(String url, String roomNumber) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT COUNT(*) FROM rooms WHERE room_number = '" + roomNumber + "'")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.kenya.hotelbooking.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesFilterTest {
+
+    private static final long STICKINESS_MS = 10_000;
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(STICKINESS_MS, "test-secret");
+
+    @Test
+    void signedPinFromTheFilterPinsTheRequest() throws Exception {
+        assertThat(pinnedWith(filter.primaryPinCookie())).isTrue();
+    }
+
+    @Test
+    void pinFromAnotherNodeWithTheSameSecretIsHonoured() throws Exception {
+        ReadYourWritesFilter otherNode = new ReadYourWritesFilter(STICKINESS_MS, "test-secret");
+        assertThat(pinnedWith(otherNode.primaryPinCookie())).isTrue();
+    }
+
+    @Test
+    void unsignedOrForgedPinsAreIgnored() throws Exception {
+        long until = System.currentTimeMillis() + 5_000;
+        assertThat(pinnedWith(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(until)))).isFalse();
+        assertThat(pinnedWith(new Cookie(ReadYourWritesFilter.COOKIE_NAME, until + ".bogus"))).isFalse();
+
+        ReadYourWritesFilter otherSecret = new ReadYourWritesFilter(STICKINESS_MS, "other-secret");
+        assertThat(pinnedWith(otherSecret.primaryPinCookie())).isFalse();
+    }
+
+    @Test
+    void pinBeyondTheStickinessWindowIsIgnored() throws Exception {
+        // Validly signed by a node configured with a much longer window
+        ReadYourWritesFilter longer = new ReadYourWritesFilter(STICKINESS_MS * 1000, "test-secret");
+        assertThat(pinnedWith(longer.primaryPinCookie())).isFalse();
+    }
+
+    @Test
+    void successfulWriteSetsThePin() throws Exception {
+        MockHttpServletResponse response = write(HttpServletResponse.SC_CREATED, true);
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNotNull();
+
+        response = write(HttpServletResponse.SC_NO_CONTENT, false);
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNotNull();
+    }
+
+    @Test
+    void failedWriteDoesNotSetThePin() throws Exception {
+        assertThat(write(HttpServletResponse.SC_CONFLICT, true).getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNull();
+        assertThat(write(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, false).getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNull();
+    }
+
+    @Test
+    void readDoesNotSetThePin() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/rooms"), response,
+                (req, res) -> res.getWriter().write("[]"));
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNull();
+    }
+
+    private boolean pinnedWith(Cookie cookie) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rooms");
+        request.setCookies(cookie);
+        AtomicBoolean pinned = new AtomicBoolean();
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> pinned.set(RoutingContext.isPinnedToPrimary()));
+        assertThat(RoutingContext.isPinnedToPrimary()).isFalse();
+        return pinned.get();
+    }
+
+    private MockHttpServletResponse write(int status, boolean withBody) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/bookings"), response, (req, res) -> {
+            RoutingContext.markWrite();
+            ((HttpServletResponse) res).setStatus(status);
+            if (withBody) {
+                res.getWriter().write("{}");
+            }
+        });
+        return response;
+    }
+}
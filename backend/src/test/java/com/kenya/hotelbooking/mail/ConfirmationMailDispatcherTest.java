@@ -0,0 +1,202 @@
+package com.kenya.hotelbooking.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.kenya.hotelbooking.cache.RecentBookingCache;
+import com.kenya.hotelbooking.entity.Booking;
+import com.kenya.hotelbooking.entity.Customer;
+import com.kenya.hotelbooking.entity.Room;
+import com.kenya.hotelbooking.repository.BookingRepository;
+import com.kenya.hotelbooking.repository.CustomerRepository;
+import com.kenya.hotelbooking.repository.RoomRepository;
+import jakarta.mail.Message;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+// Sends through a real (in-process) SMTP server and marks bookings in a real H2 database.
+// Senders are held at a gate until the whole burst is queued, so the workers have to
+// drain it in full batches. Not transactional: the workers' bulk update must see the
+// committed bookings.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConfirmationMailDispatcherTest {
+
+    private static final int EMAILS = 200;
+    private static final int BATCH_SIZE = 20;
+    private static final int WORKERS = 2;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final RecentBookingCache recentBookings = mock(RecentBookingCache.class);
+    private GatedMailSender mailSender;
+    private ConfirmationMailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = new GatedMailSender();
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        dispatcher = new ConfirmationMailDispatcher(mailSender, new ConfirmationEmailRenderer(), bookingRepository,
+                recentBookings, "KenyaStay Hotels <bookings@kenyastay.co.ke>", WORKERS, BATCH_SIZE, 1000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        mailSender.gate.countDown();
+        dispatcher.shutdown();
+        bookingRepository.deleteAll();
+        customerRepository.deleteAll();
+        roomRepository.deleteAll();
+    }
+
+    @Test
+    void burstIsSentInBatchesAndMarkedSent() throws Exception {
+        List<Booking> bookings = saveBookings();
+        // Cancelled while its email was queued; the flag update must not undo that
+        Booking cancelled = bookings.get(0);
+        cancelled.setStatus(Booking.BookingStatus.CANCELLED);
+        bookingRepository.save(cancelled);
+
+        for (Booking booking : bookings) {
+            dispatcher.enqueue(email(booking));
+        }
+        mailSender.gate.countDown();
+
+        assertThat(greenMail.waitForIncomingEmail(30_000, EMAILS)).isTrue();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(EMAILS);
+        List<String> recipients = new ArrayList<>();
+        for (MimeMessage message : received) {
+            Arrays.stream(message.getRecipients(Message.RecipientType.TO)).forEach(to -> recipients.add(to.toString()));
+        }
+        assertThat(recipients).containsExactlyInAnyOrderElementsOf(
+                bookings.stream().map(booking -> booking.getCustomer().getEmail()).toList());
+
+        assertThat(mailSender.batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(EMAILS);
+        assertThat(mailSender.batchSizes).allMatch(size -> size <= BATCH_SIZE).contains(BATCH_SIZE);
+        // At most one partial batch per worker before the gate opened, the rest full
+        assertThat(mailSender.batchSizes.size()).isLessThanOrEqualTo(EMAILS / BATCH_SIZE + 2 * WORKERS);
+
+        // Flags are set after the batch is delivered, so they can trail the last message
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(countEmailSent()).isEqualTo(EMAILS));
+        assertThat(statusOf(cancelled.getId())).isEqualTo(Booking.BookingStatus.CANCELLED);
+
+        // Cached copies still carry emailSent = false
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<Collection<String>> references = ArgumentCaptor.forClass(Collection.class);
+            verify(recentBookings, atLeastOnce()).evictAll(references.capture());
+            assertThat(references.getAllValues().stream().flatMap(Collection::stream))
+                    .containsExactlyInAnyOrderElementsOf(bookings.stream().map(Booking::getBookingReference).toList());
+        });
+    }
+
+    private List<Booking> saveBookings() {
+        Room room = new Room();
+        room.setRoomNumber("102");
+        room.setRoomType("STANDARD");
+        room.setPricePerNight(new BigDecimal("7500.00"));
+        room.setLocation("Mombasa");
+        room.setCapacity(2);
+        room = roomRepository.save(room);
+
+        LocalDate checkIn = LocalDate.now().plusDays(14);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < EMAILS; i++) {
+            Customer customer = new Customer();
+            customer.setFirstName("Guest");
+            customer.setLastName(Integer.toString(i));
+            customer.setEmail("guest" + i + "@example.com");
+            customer.setPhoneNumber("+2547000" + String.format("%05d", i));
+            customer = customerRepository.save(customer);
+
+            Booking booking = new Booking();
+            booking.setRoom(room);
+            booking.setCustomer(customer);
+            // Far apart so the stays don't overlap
+            booking.setCheckInDate(checkIn.plusDays(i * 4L));
+            booking.setCheckOutDate(checkIn.plusDays(i * 4L + 3));
+            booking.setTotalPrice(new BigDecimal("22500.00"));
+            booking.setBookingReference("REF" + i);
+            booking.setStatus(Booking.BookingStatus.CONFIRMED);
+            bookings.add(bookingRepository.save(booking));
+        }
+        return bookings;
+    }
+
+    private long countEmailSent() {
+        return entityManager.createQuery("SELECT COUNT(b) FROM Booking b WHERE b.emailSent = true", Long.class)
+                .getSingleResult();
+    }
+
+    private Booking.BookingStatus statusOf(Long bookingId) {
+        return entityManager.createQuery("SELECT b.status FROM Booking b WHERE b.id = :id", Booking.BookingStatus.class)
+                .setParameter("id", bookingId)
+                .getSingleResult();
+    }
+
+    private static ConfirmationEmail email(Booking booking) {
+        return new ConfirmationEmail(booking.getId(), booking.getBookingReference(), booking.getCustomer().getEmail(),
+                booking.getCustomer().getFirstName() + " " + booking.getCustomer().getLastName(),
+                "Mombasa", "102", "STANDARD", booking.getCheckInDate(), booking.getCheckOutDate(),
+                booking.getTotalPrice());
+    }
+
+    private static class GatedMailSender extends JavaMailSenderImpl {
+
+        final CountDownLatch gate = new CountDownLatch(1);
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(MimeMessage... mimeMessages) {
+            try {
+                gate.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batchSizes.add(mimeMessages.length);
+            super.send(mimeMessages);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.kenya.hotelbooking.service;
+
+import com.kenya.hotelbooking.cache.NodeIdentity;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingReferenceGeneratorTest {
+
+    private static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    private static final String CROCKFORD_13 = "[0-9A-HJKMNP-TV-Z]{13}";
+
+    @Test
+    void referencesAreThirteenCrockfordCharacters() {
+        BookingReferenceGenerator generator = new BookingReferenceGenerator(node(7));
+        for (int i = 0; i < 1000; i++) {
+            assertThat(generator.next()).matches(CROCKFORD_13);
+        }
+    }
+
+    @Test
+    void referencesSortInCreationOrder() {
+        ManualClockGenerator generator = new ManualClockGenerator(node(1));
+        List<String> references = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            generator.millis += i % 3;
+            references.add(generator.next());
+        }
+        assertThat(references).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void concurrentCallersNeverGetTheSameReference() throws Exception {
+        BookingReferenceGenerator generator = new BookingReferenceGenerator(node(3));
+        Set<String> references = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < 5000; i++) {
+                        references.add(generator.next());
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(references).hasSize(8 * 5000);
+    }
+
+    @Test
+    void clockGoingBackwardsStillMovesForward() {
+        ManualClockGenerator generator = new ManualClockGenerator(node(1));
+        String before = generator.next();
+        generator.millis -= 5_000;
+        String after = generator.next();
+        generator.millis -= 1;
+        String later = generator.next();
+
+        assertThat(after).isGreaterThan(before);
+        assertThat(later).isGreaterThan(after);
+    }
+
+    @Test
+    void sequenceOverflowBorrowsTheNextMillisecond() {
+        ManualClockGenerator generator = new ManualClockGenerator(node(1));
+        List<String> references = new ArrayList<>();
+        // Two full milliseconds' worth of sequence numbers without the clock moving
+        for (int i = 0; i < 2 * 4096 + 10; i++) {
+            references.add(generator.next());
+        }
+        assertThat(references).isSorted();
+        assertThat(new HashSet<>(references)).hasSize(references.size());
+    }
+
+    @Test
+    void nodesGenerateDistinctReferencesInTheSameMillisecond() {
+        ManualClockGenerator first = new ManualClockGenerator(node(1));
+        ManualClockGenerator second = new ManualClockGenerator(node(2));
+        assertThat(first.next()).isNotEqualTo(second.next());
+    }
+
+    private static NodeIdentity node(int id) {
+        NodeIdentity nodeIdentity = mock(NodeIdentity.class);
+        when(nodeIdentity.getNumericId()).thenReturn(id);
+        return nodeIdentity;
+    }
+
+    private static class ManualClockGenerator extends BookingReferenceGenerator {
+
+        long millis = EPOCH + 1_000_000;
+
+        ManualClockGenerator(NodeIdentity nodeIdentity) {
+            super(nodeIdentity);
+        }
+
+        @Override
+        long currentTimeMillis() {
+            return millis;
+        }
+    }
+}
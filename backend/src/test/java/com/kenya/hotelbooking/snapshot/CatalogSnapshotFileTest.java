@@ -0,0 +1,88 @@
+package com.kenya.hotelbooking.snapshot;
+
+import com.kenya.hotelbooking.search.AmenityIndex;
+import com.kenya.hotelbooking.search.RoomAvailabilityIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogSnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    static CatalogSnapshot sample(long createdAtMillis) {
+        LocalDate horizon = LocalDate.of(2026, 6, 1);
+        int day = (int) horizon.toEpochDay();
+        return new CatalogSnapshot(createdAtMillis, horizon,
+                new AmenityIndex.State(List.of("WiFi", "Pool", "Sea View"),
+                        Map.of(1L, new int[]{0, 1}, 2L, new int[]{2})),
+                Map.of(1L, new RoomAvailabilityIndex.RoomState("Mombasa", true, new int[]{day + 3, day + 5}),
+                        2L, new RoomAvailabilityIndex.RoomState("Nairobi", false, new int[0]),
+                        3L, new RoomAvailabilityIndex.RoomState("Mombasa", true, new int[0])));
+    }
+
+    @Test
+    void roundTripKeepsEveryColumn() throws IOException {
+        CatalogSnapshot written = sample(1_750_000_000_000L);
+        Path file = dir.resolve("catalog.snap");
+        CatalogSnapshotFile.write(written, file);
+
+        CatalogSnapshot read = CatalogSnapshotFile.read(file);
+
+        assertThat(read.createdAtMillis()).isEqualTo(written.createdAtMillis());
+        assertThat(read.horizon()).isEqualTo(written.horizon());
+        assertThat(read.amenities().amenityNames()).isEqualTo(written.amenities().amenityNames());
+        assertThat(read.amenities().amenitiesByRoom()).containsOnlyKeys(1L, 2L);
+        assertThat(read.amenities().amenitiesByRoom().get(1L)).containsExactly(0, 1);
+        assertThat(read.amenities().amenitiesByRoom().get(2L)).containsExactly(2);
+        assertThat(read.rooms()).containsOnlyKeys(1L, 2L, 3L);
+        written.rooms().forEach((roomId, state) -> {
+            RoomAvailabilityIndex.RoomState restored = read.rooms().get(roomId);
+            assertThat(restored.location()).isEqualTo(state.location());
+            assertThat(restored.available()).isEqualTo(state.available());
+            assertThat(restored.stays()).containsExactly(state.stays());
+        });
+    }
+
+    @Test
+    void corruptedBodyFailsTheChecksum() throws IOException {
+        Path file = dir.resolve("catalog.snap");
+        CatalogSnapshotFile.write(sample(1L), file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> CatalogSnapshotFile.read(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    void otherVersionIsRejected() throws IOException {
+        Path file = dir.resolve("catalog.snap");
+        CatalogSnapshotFile.write(sample(1L), file);
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        bytes.putInt(4, 1);
+        // Re-stamp the checksum so only the version is wrong
+        CRC32 crc = new CRC32();
+        crc.update(bytes.array(), 0, bytes.capacity() - 4);
+        bytes.putInt(bytes.capacity() - 4, (int) crc.getValue());
+        Files.write(file, bytes.array());
+
+        assertThatThrownBy(() -> CatalogSnapshotFile.read(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("version 1");
+    }
+}
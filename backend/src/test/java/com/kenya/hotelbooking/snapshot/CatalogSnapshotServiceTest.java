@@ -0,0 +1,85 @@
+package com.kenya.hotelbooking.snapshot;
+
+import com.kenya.hotelbooking.repository.RoomChangeLogRepository;
+import com.kenya.hotelbooking.search.AmenityIndex;
+import com.kenya.hotelbooking.search.RoomAvailabilityIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogSnapshotServiceTest {
+
+    private static final long LOOKBACK_MS = 10_000;
+
+    @TempDir
+    Path dir;
+
+    private final AmenityIndex amenityIndex = mock(AmenityIndex.class);
+    private final RoomAvailabilityIndex availabilityIndex = mock(RoomAvailabilityIndex.class);
+    private final RoomChangeLogRepository changeLogRepository = mock(RoomChangeLogRepository.class);
+
+    @Test
+    void changeCommittedAfterTheSnapshotIsReplayed() throws IOException {
+        long createdAt = System.currentTimeMillis() - 60_000;
+        Path file = dir.resolve("catalog.snap");
+        CatalogSnapshotFile.write(CatalogSnapshotFileTest.sample(createdAt), file);
+        when(changeLogRepository.findRoomIdsChangedSince(any())).thenReturn(List.of(42L));
+
+        service(file, "changelog").warmUp();
+
+        verify(amenityIndex).restore(any());
+        verify(availabilityIndex).restore(any(), any());
+        verify(amenityIndex, never()).build();
+        verify(amenityIndex).reloadRoom(42L);
+        verify(availabilityIndex).reloadRoom(42L);
+
+        // Reaches back past the snapshot stamp to catch late commits
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(changeLogRepository).findRoomIdsChangedSince(since.capture());
+        long sinceMillis = since.getValue().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        assertThat(sinceMillis).isEqualTo(createdAt - LOOKBACK_MS);
+    }
+
+    @Test
+    void brokerModeRebuildsInsteadOfRestoring() throws IOException {
+        Path file = dir.resolve("catalog.snap");
+        CatalogSnapshotFile.write(CatalogSnapshotFileTest.sample(System.currentTimeMillis()), file);
+
+        service(file, "broker").warmUp();
+
+        verify(amenityIndex).build();
+        verify(availabilityIndex).build();
+        verify(amenityIndex, never()).restore(any());
+        verify(changeLogRepository, never()).findRoomIdsChangedSince(any());
+    }
+
+    @Test
+    void corruptSnapshotFallsBackToARebuild() throws IOException {
+        Path file = dir.resolve("catalog.snap");
+        Files.write(file, new byte[64]);
+
+        service(file, "changelog").warmUp();
+
+        verify(amenityIndex).build();
+        verify(availabilityIndex).build();
+    }
+
+    private CatalogSnapshotService service(Path file, String mode) {
+        return new CatalogSnapshotService(amenityIndex, availabilityIndex, changeLogRepository,
+                file.toString(), 60, LOOKBACK_MS, mode);
+    }
+}
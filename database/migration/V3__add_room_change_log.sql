@@ -0,0 +1,12 @@
+-- Change log used to keep per-node room/availability caches coherent
+-- when several backend instances run behind the load balancer
+
+CREATE TABLE IF NOT EXISTS room_change_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    room_id BIGINT NOT NULL,
+    origin_node VARCHAR(64) NOT NULL,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Pollers read by id; the purge job deletes by age
+CREATE INDEX idx_room_change_log_changed_at ON room_change_log(changed_at);
@@ -0,0 +1,3 @@
+-- Lets subscribers tell room edits (CATALOG) from bookings and cancellations (OCCUPANCY)
+
+ALTER TABLE room_change_log ADD COLUMN change_type VARCHAR(16) NOT NULL DEFAULT 'CATALOG';
@@ -0,0 +1,8 @@
+-- Node ids (0-1023) for booking references and cache invalidation, leased by
+-- instances that don't have cache.node-id set
+
+CREATE TABLE IF NOT EXISTS node_lease (
+    node_id INT PRIMARY KEY,
+    holder VARCHAR(64) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
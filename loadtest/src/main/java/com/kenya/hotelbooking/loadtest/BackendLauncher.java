@@ -0,0 +1,99 @@
+package com.kenya.hotelbooking.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Starts the packaged backend on an in-memory H2 database and waits until it serves requests
+public class BackendLauncher implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Process process;
+    private final String baseUrl;
+
+    private BackendLauncher(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    public static BackendLauncher start(String backendJar, int port, List<String> extraArgs)
+            throws IOException, InterruptedException {
+        Path jar = Paths.get(backendJar);
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException("Backend jar not found at " + jar.toAbsolutePath()
+                    + " - run 'mvn -f backend/pom.xml package -DskipTests' first or pass --jar=...");
+        }
+        Path logFile = Paths.get("target", "backend.log");
+        Files.createDirectories(logFile.getParent());
+
+        List<String> command = new ArrayList<>(List.of(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar.toString(),
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--server.error.include-message=always",
+                "--snapshot.path=target/loadtest-catalog.snap"));
+        // Later arguments win, so these can override the defaults above
+        command.addAll(extraArgs);
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+
+        BackendLauncher launcher = new BackendLauncher(process, "http://localhost:" + port);
+        launcher.awaitReady();
+        return launcher;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    private void awaitReady() throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/rooms")).GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Backend exited with code " + process.exitValue() + ", see target/backend.log");
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        close();
+        throw new IllegalStateException("Backend did not become ready within " + STARTUP_TIMEOUT.toSeconds() + "s");
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
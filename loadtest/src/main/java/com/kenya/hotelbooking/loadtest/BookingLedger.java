@@ -0,0 +1,37 @@
+package com.kenya.hotelbooking.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Bookings made during the run, so lookups and cancellations target real data
+public class BookingLedger {
+
+    private static final int CAPACITY = 20_000;
+
+    private final List<Booked> bookings = new ArrayList<>();
+
+    public synchronized void add(Booked booked) {
+        if (bookings.size() >= CAPACITY) {
+            bookings.remove(0);
+        }
+        bookings.add(booked);
+    }
+
+    public synchronized Booked pick(Random random) {
+        return bookings.isEmpty() ? null : bookings.get(random.nextInt(bookings.size()));
+    }
+
+    public synchronized Booked take(Random random) {
+        if (bookings.isEmpty()) {
+            return null;
+        }
+        int index = random.nextInt(bookings.size());
+        Booked booked = bookings.get(index);
+        bookings.set(index, bookings.get(bookings.size() - 1));
+        bookings.remove(bookings.size() - 1);
+        return booked;
+    }
+
+    public record Booked(long id, String reference, String email) {}
+}
@@ -0,0 +1,128 @@
+package com.kenya.hotelbooking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+// Thin HTTP client over the /api/rooms and /api/bookings endpoints
+public class HotelApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+
+    public HotelApiClient(String baseUrl, int threads) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(2, threads / 4)))
+                .build();
+    }
+
+    public Response getAllRooms() throws IOException, InterruptedException {
+        return send(get("/api/rooms"));
+    }
+
+    public Response searchAvailable(String location, LocalDate checkIn, LocalDate checkOut)
+            throws IOException, InterruptedException {
+        return send(get("/api/rooms/available?location=" + encode(location)
+                + "&checkIn=" + checkIn + "&checkOut=" + checkOut));
+    }
+
+    public Response searchWithFilters(String location, LocalDate checkIn, LocalDate checkOut,
+                                      String roomType, List<String> amenities) throws IOException, InterruptedException {
+        ObjectNode body = mapper.createObjectNode();
+        body.put("location", location);
+        body.put("checkInDate", checkIn.toString());
+        body.put("checkOutDate", checkOut.toString());
+        if (roomType != null) {
+            body.put("roomType", roomType);
+        }
+        amenities.forEach(body.putArray("amenities")::add);
+        return send(post("/api/rooms/search", body));
+    }
+
+    public Response book(long roomId, String email, LocalDate checkIn, LocalDate checkOut)
+            throws IOException, InterruptedException {
+        ObjectNode body = mapper.createObjectNode();
+        body.put("roomId", roomId);
+        body.put("firstName", "Load");
+        body.put("lastName", "Test");
+        body.put("email", email);
+        body.put("phoneNumber", "+254700000000");
+        body.put("checkInDate", checkIn.toString());
+        body.put("checkOutDate", checkOut.toString());
+        return send(post("/api/bookings", body));
+    }
+
+    public Response getByReference(String reference) throws IOException, InterruptedException {
+        return send(get("/api/bookings/reference/" + encode(reference)));
+    }
+
+    public Response getByEmail(String email) throws IOException, InterruptedException {
+        return send(get("/api/bookings/email/" + encode(email)));
+    }
+
+    public Response cancel(long bookingId) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/bookings/" + bookingId + "/cancel"))
+                .timeout(TIMEOUT)
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    public Response resetDiagnostics() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/diagnostics/hibernate/reset"))
+                .timeout(TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    public Response getDiagnostics() throws IOException, InterruptedException {
+        return send(get("/api/diagnostics/hibernate"));
+    }
+
+    public JsonNode parse(String body) throws IOException {
+        return mapper.readTree(body);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, JsonNode body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private Response send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        return new Response(response.statusCode(), response.body());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    public record Response(int status, String body) {
+        public boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.kenya.hotelbooking.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-operation latency histograms (microseconds) and outcome counters
+public class LoadReport {
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> results = new EnumMap<>(Operation.class);
+    private final LongAdder bookingConflicts = new LongAdder();
+    private volatile long measureStartNanos;
+    private long measureEndNanos;
+
+    public LoadReport() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(TimeUnit.MINUTES.toMicros(1), 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public void record(Operation operation, long startNanos, boolean ok) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        recorders.get(operation).recordValue(Math.min(micros, TimeUnit.MINUTES.toMicros(1)));
+        if (!ok) {
+            errors.get(operation).increment();
+        }
+    }
+
+    public void recordConflict() {
+        bookingConflicts.increment();
+    }
+
+    // Discard everything recorded during warm-up
+    public void startMeasuring() {
+        recorders.values().forEach(Recorder::getIntervalHistogram);
+        errors.values().forEach(LongAdder::reset);
+        bookingConflicts.reset();
+        measureStartNanos = System.nanoTime();
+    }
+
+    public void stopMeasuring() {
+        measureEndNanos = System.nanoTime();
+        recorders.forEach((operation, recorder) -> results.put(operation, recorder.getIntervalHistogram()));
+    }
+
+    public long totalCount() {
+        return results.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    public double p99Millis(Operation operation) {
+        return results.get(operation).getValueAtPercentile(99) / 1000.0;
+    }
+
+    public double conflictRate() {
+        long attempts = results.get(Operation.BOOK).getTotalCount();
+        return attempts == 0 ? 0 : (double) bookingConflicts.sum() / attempts;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = (measureEndNanos - measureStartNanos) / 1e9;
+        out.printf("%nMeasured %.1fs, %d requests, %.1f req/s%n%n", seconds, totalCount(), totalCount() / seconds);
+        out.printf("%-10s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = results.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            out.printf("%-10s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation.getKey(),
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds,
+                    errors.get(operation).sum(),
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+        out.printf("%nBooking conflicts: %d of %d attempts (%.1f%%)%n",
+                bookingConflicts.sum(), results.get(Operation.BOOK).getTotalCount(), conflictRate() * 100);
+    }
+}
@@ -0,0 +1,75 @@
+package com.kenya.hotelbooking.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Command line options, e.g.
+//   --duration=120 --threads=32 --mix=search:40,filtered:20,book:12,reference:12,email:10,cancel:6
+//   --base-url=http://staging:8080   (skip starting a local backend)
+//   --max-p99-ms=250 --max-conflict-rate=0.2   (exit 1 when exceeded)
+//   --backend-arg=--hotel.hibernate.cache=false   (repeatable; passed to the local backend)
+public class LoadTestConfig {
+
+    private String backendJar = "../backend/target/hotel-system-0.0.1-SNAPSHOT.jar";
+    private String baseUrl;
+    private int port = 18080;
+    private int durationSeconds = 60;
+    private int warmupSeconds = 10;
+    private int threads = 16;
+    private long seed = 20251217L;
+    private double maxP99Millis;
+    private double maxConflictRate;
+    private final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    private final List<String> backendArgs = new ArrayList<>();
+
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (Operation operation : Operation.values()) {
+            config.mix.put(operation, operation.getDefaultWeight());
+        }
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "jar" -> config.backendJar = value;
+                case "base-url" -> config.baseUrl = value;
+                case "port" -> config.port = Integer.parseInt(value);
+                case "duration" -> config.durationSeconds = Integer.parseInt(value);
+                case "warmup" -> config.warmupSeconds = Integer.parseInt(value);
+                case "threads" -> config.threads = Integer.parseInt(value);
+                case "seed" -> config.seed = Long.parseLong(value);
+                case "max-p99-ms" -> config.maxP99Millis = Double.parseDouble(value);
+                case "max-conflict-rate" -> config.maxConflictRate = Double.parseDouble(value);
+                case "mix" -> config.parseMix(value);
+                case "backend-arg" -> config.backendArgs.add(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        return config;
+    }
+
+    private void parseMix(String value) {
+        mix.replaceAll((operation, weight) -> 0);
+        for (String part : value.split(",")) {
+            String[] pair = part.split(":");
+            mix.put(Operation.fromKey(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+    }
+
+    public String getBackendJar() { return backendJar; }
+    public String getBaseUrl() { return baseUrl; }
+    public int getPort() { return port; }
+    public int getDurationSeconds() { return durationSeconds; }
+    public int getWarmupSeconds() { return warmupSeconds; }
+    public int getThreads() { return threads; }
+    public long getSeed() { return seed; }
+    public double getMaxP99Millis() { return maxP99Millis; }
+    public double getMaxConflictRate() { return maxConflictRate; }
+    public Map<Operation, Integer> getMix() { return mix; }
+    public List<String> getBackendArgs() { return backendArgs; }
+}
@@ -0,0 +1,233 @@
+package com.kenya.hotelbooking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Replays a seasonal mix of searches, bookings, lookups and cancellations against the
+// backend and reports throughput, latency percentiles and booking-conflict rate.
+//
+//   mvn -f backend/pom.xml package -DskipTests
+//   mvn -f loadtest/pom.xml compile exec:java -Dexec.args="--duration=120 --threads=32"
+//
+// Second-level/query cache comparison: run once as above and once with
+// --backend-arg=--hotel.hibernate.cache=false, then compare the "per request" figure.
+// Hibernate counts are for the whole backend process, so they include the invalidation
+// poller and index reconciles as well as the load-test requests.
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        BackendLauncher launcher = null;
+        String baseUrl = config.getBaseUrl();
+        if (baseUrl != null) {
+            System.out.println("Note: booking conflicts are only recognised if " + baseUrl
+                    + " runs with server.error.include-message=always; otherwise they count as errors.");
+        } else {
+            System.out.println("Starting backend on H2 (port " + config.getPort() + ")...");
+            launcher = BackendLauncher.start(config.getBackendJar(), config.getPort(), config.getBackendArgs());
+            baseUrl = launcher.getBaseUrl();
+        }
+
+        int exitCode;
+        try {
+            exitCode = run(config, new HotelApiClient(baseUrl, config.getThreads()));
+        } finally {
+            if (launcher != null) {
+                launcher.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(LoadTestConfig config, HotelApiClient client) throws Exception {
+        Map<String, List<Long>> roomsByLocation = loadRooms(client);
+        if (roomsByLocation.isEmpty()) {
+            throw new IllegalStateException("Backend has no rooms to book");
+        }
+
+        LoadReport report = new LoadReport();
+        BookingLedger ledger = new BookingLedger();
+        SeasonalTraffic traffic = new SeasonalTraffic(roomsByLocation.keySet());
+        for (String location : traffic.missingPeakLocations()) {
+            System.err.println("WARNING: backend has no rooms in peak location " + location
+                    + "; its seasonal peak is not exercised and that traffic goes to other locations.");
+        }
+        int[] weights = config.getMix().values().stream().mapToInt(Integer::intValue).toArray();
+        Operation[] operations = config.getMix().keySet().toArray(new Operation[0]);
+
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.getThreads());
+        for (int i = 0; i < config.getThreads(); i++) {
+            Random random = new Random(config.getSeed() + i);
+            workers.submit(() -> {
+                while (System.nanoTime() < end) {
+                    Operation operation = operations[pick(random, weights)];
+                    execute(operation, client, random, traffic, ledger, report, roomsByLocation);
+                }
+                return null;
+            });
+        }
+
+        System.out.println("Warming up for " + config.getWarmupSeconds() + "s...");
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+        client.resetDiagnostics();
+        report.startMeasuring();
+        System.out.println("Measuring for " + config.getDurationSeconds() + "s with " + config.getThreads() + " threads...");
+
+        workers.shutdown();
+        workers.awaitTermination(config.getDurationSeconds() + 60L, TimeUnit.SECONDS);
+        report.stopMeasuring();
+
+        report.print(System.out);
+        printDiagnostics(client, report);
+        return checkGates(config, report);
+    }
+
+    private static void execute(Operation operation, HotelApiClient client, Random random, SeasonalTraffic traffic,
+                                BookingLedger ledger, LoadReport report,
+                                Map<String, List<Long>> roomsByLocation) {
+        Month month = traffic.pickMonth(random);
+        String location = traffic.pickLocation(random, month);
+        LocalDate checkIn = traffic.pickCheckIn(random, month);
+        LocalDate checkOut = checkIn.plusDays(traffic.pickNights(random));
+
+        long start = System.nanoTime();
+        try {
+            switch (operation) {
+                case SEARCH -> report.record(operation, start,
+                        client.searchAvailable(location, checkIn, checkOut).ok());
+                case FILTERED_SEARCH -> report.record(operation, start,
+                        client.searchWithFilters(location, checkIn, checkOut,
+                                random.nextBoolean() ? traffic.pickRoomType(random) : null,
+                                traffic.pickAmenities(random)).ok());
+                case BOOK -> {
+                    List<Long> candidates = roomsByLocation.get(location);
+                    long roomId = candidates.get(random.nextInt(candidates.size()));
+                    String email = traffic.pickGuestEmail(random);
+                    HotelApiClient.Response response = client.book(roomId, email, checkIn, checkOut);
+                    if (response.ok()) {
+                        report.record(operation, start, true);
+                        JsonNode booking = client.parse(response.body());
+                        ledger.add(new BookingLedger.Booked(
+                                booking.path("id").asLong(), booking.path("bookingReference").asText(null), email));
+                    } else if (isConflict(response)) {
+                        // Lost the race for the room: expected under contention, not an error
+                        report.record(operation, start, true);
+                        report.recordConflict();
+                    } else {
+                        report.record(operation, start, false);
+                    }
+                }
+                case LOOKUP_REFERENCE -> {
+                    BookingLedger.Booked booked = ledger.pick(random);
+                    if (booked != null && booked.reference() != null) {
+                        report.record(operation, start, client.getByReference(booked.reference()).ok());
+                    }
+                }
+                case LOOKUP_EMAIL -> {
+                    BookingLedger.Booked booked = ledger.pick(random);
+                    String email = booked != null ? booked.email() : traffic.pickGuestEmail(random);
+                    report.record(operation, start, client.getByEmail(email).ok());
+                }
+                case CANCEL -> {
+                    BookingLedger.Booked booked = ledger.take(random);
+                    if (booked != null) {
+                        report.record(operation, start, client.cancel(booked.id()).ok());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            report.record(operation, start, false);
+        }
+    }
+
+    // 409 where the backend maps it; otherwise the exception message, which the error body
+    // only carries with server.error.include-message=always (BackendLauncher sets it)
+    private static boolean isConflict(HotelApiClient.Response response) {
+        return response.status() == 409
+                || (response.body() != null && response.body().contains("not available"));
+    }
+
+    private static Map<String, List<Long>> loadRooms(HotelApiClient client) throws Exception {
+        HotelApiClient.Response response = client.getAllRooms();
+        if (!response.ok()) {
+            throw new IllegalStateException("GET /api/rooms returned " + response.status());
+        }
+        Map<String, List<Long>> roomsByLocation = new HashMap<>();
+        for (JsonNode room : client.parse(response.body())) {
+            roomsByLocation.computeIfAbsent(room.path("location").asText(), key -> new ArrayList<>())
+                    .add(room.path("id").asLong());
+        }
+        return roomsByLocation;
+    }
+
+    private static void printDiagnostics(HotelApiClient client, LoadReport report) {
+        try {
+            HotelApiClient.Response response = client.getDiagnostics();
+            if (!response.ok()) {
+                return;
+            }
+            JsonNode stats = client.parse(response.body());
+            long statements = stats.path("prepareStatementCount").asLong();
+            System.out.printf("%nHibernate, whole backend process incl. background pollers: %d statements "
+                            + "(%.2f per load-test request), query cache %d hits / %d misses, "
+                            + "second-level cache %d hits / %d misses%n",
+                    statements,
+                    report.totalCount() == 0 ? 0.0 : (double) statements / report.totalCount(),
+                    stats.path("queryCacheHitCount").asLong(),
+                    stats.path("queryCacheMissCount").asLong(),
+                    stats.path("secondLevelCacheHitCount").asLong(),
+                    stats.path("secondLevelCacheMissCount").asLong());
+        } catch (Exception e) {
+            System.out.println("Hibernate diagnostics unavailable: " + e.getMessage());
+        }
+    }
+
+    private static int checkGates(LoadTestConfig config, LoadReport report) {
+        int exitCode = 0;
+        if (config.getMaxP99Millis() > 0) {
+            for (Operation operation : Operation.values()) {
+                double p99 = report.p99Millis(operation);
+                if (p99 > config.getMaxP99Millis()) {
+                    System.out.printf("FAIL: %s p99 %.2f ms exceeds %.2f ms%n", operation.getKey(), p99, config.getMaxP99Millis());
+                    exitCode = 1;
+                }
+            }
+        }
+        if (config.getMaxConflictRate() > 0 && report.conflictRate() > config.getMaxConflictRate()) {
+            System.out.printf("FAIL: booking conflict rate %.3f exceeds %.3f%n", report.conflictRate(), config.getMaxConflictRate());
+            exitCode = 1;
+        }
+        return exitCode;
+    }
+
+    private static int pick(Random random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+}
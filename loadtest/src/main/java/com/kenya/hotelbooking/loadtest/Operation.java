@@ -0,0 +1,30 @@
+package com.kenya.hotelbooking.loadtest;
+
+public enum Operation {
+    SEARCH("search", 40),
+    FILTERED_SEARCH("filtered", 20),
+    BOOK("book", 12),
+    LOOKUP_REFERENCE("reference", 12),
+    LOOKUP_EMAIL("email", 10),
+    CANCEL("cancel", 6);
+
+    private final String key;
+    private final int defaultWeight;
+
+    Operation(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String getKey() { return key; }
+    public int getDefaultWeight() { return defaultWeight; }
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation in --mix: " + key);
+    }
+}
@@ -0,0 +1,161 @@
+package com.kenya.hotelbooking.loadtest;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+// Skewed request parameters modelled on the holiday-season peaks:
+// the coast (Mombasa) in December and the Maasai Mara during the August migration.
+// Only locations the backend actually has rooms in are picked: the seasonal tables are
+// narrowed to those, and locations the tables don't know get DEFAULT_LOCATION_WEIGHT.
+// Names match ignoring case and "_" vs " ", so MAASAI_MARA from the MySQL seed counts
+// as Maasai Mara. A peak location with no rooms at all means its season isn't exercised;
+// missingPeakLocations() reports those so the run can say so.
+public class SeasonalTraffic {
+
+    private static final int DEFAULT_LOCATION_WEIGHT = 10;
+
+    private static final List<String> PEAK_LOCATIONS = List.of("Mombasa", "Maasai Mara");
+
+    private static final int[] MONTH_WEIGHTS = {6, 3, 3, 5, 2, 4, 8, 14, 5, 4, 6, 18};
+
+    private static final List<Map.Entry<String, Integer>> DECEMBER = List.of(
+            Map.entry("Mombasa", 50), Map.entry("Nairobi", 20), Map.entry("Maasai Mara", 10),
+            Map.entry("Nakuru", 10), Map.entry("Kisumu", 10));
+    private static final List<Map.Entry<String, Integer>> AUGUST = List.of(
+            Map.entry("Maasai Mara", 45), Map.entry("Nairobi", 20), Map.entry("Nakuru", 15),
+            Map.entry("Mombasa", 10), Map.entry("Kisumu", 10));
+    private static final List<Map.Entry<String, Integer>> OFF_PEAK = List.of(
+            Map.entry("Nairobi", 40), Map.entry("Mombasa", 20), Map.entry("Nakuru", 15),
+            Map.entry("Kisumu", 15), Map.entry("Maasai Mara", 10));
+
+    private static final List<String> ROOM_TYPES = List.of("STANDARD", "DELUXE", "SUITE", "SINGLE", "DOUBLE");
+    private static final List<List<String>> AMENITY_FILTERS = List.of(
+            List.of("WiFi"),
+            List.of("WiFi", "AC"),
+            List.of("Sea View"),
+            List.of("WiFi", "TV", "AC"),
+            List.of("WiFi", "Pool", "Sea View"));
+
+    private static final int GUESTS = 5000;
+
+    private final List<Map.Entry<String, Integer>> december;
+    private final List<Map.Entry<String, Integer>> august;
+    private final List<Map.Entry<String, Integer>> offPeak;
+    private final List<String> missingPeakLocations;
+
+    public SeasonalTraffic(Collection<String> locations) {
+        if (locations.isEmpty()) {
+            throw new IllegalArgumentException("No room locations to generate traffic for");
+        }
+        List<String> sorted = locations.stream().sorted().toList();
+        this.december = weightsFor(DECEMBER, sorted);
+        this.august = weightsFor(AUGUST, sorted);
+        this.offPeak = weightsFor(OFF_PEAK, sorted);
+        this.missingPeakLocations = PEAK_LOCATIONS.stream()
+                .filter(peak -> sorted.stream().noneMatch(location -> sameLocation(peak, location)))
+                .toList();
+    }
+
+    public List<String> missingPeakLocations() {
+        return missingPeakLocations;
+    }
+
+    public Month pickMonth(Random random) {
+        return Month.of(pickIndex(random, MONTH_WEIGHTS) + 1);
+    }
+
+    public String pickLocation(Random random, Month month) {
+        List<Map.Entry<String, Integer>> weights = switch (month) {
+            case DECEMBER -> december;
+            case JULY, AUGUST -> august;
+            default -> offPeak;
+        };
+        int total = weights.stream().mapToInt(Map.Entry::getValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : weights) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return weights.get(weights.size() - 1).getKey();
+    }
+
+    // Next future date in the given month; guests book weeks to months ahead
+    public LocalDate pickCheckIn(Random random, Month month) {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        int year = tomorrow.getYear();
+        LocalDate start = LocalDate.of(year, month, 1);
+        if (start.plusMonths(1).isBefore(tomorrow.plusDays(1))) {
+            start = start.plusYears(1);
+        }
+        LocalDate checkIn = start.plusDays(random.nextInt(start.lengthOfMonth()));
+        return checkIn.isBefore(tomorrow) ? tomorrow : checkIn;
+    }
+
+    // Mostly short stays with a long tail, capped at two weeks
+    public int pickNights(Random random) {
+        int nights = 1;
+        while (nights < 14 && random.nextDouble() < 0.6) {
+            nights++;
+        }
+        return nights;
+    }
+
+    public String pickRoomType(Random random) {
+        return ROOM_TYPES.get(random.nextInt(ROOM_TYPES.size()));
+    }
+
+    public List<String> pickAmenities(Random random) {
+        return AMENITY_FILTERS.get(random.nextInt(AMENITY_FILTERS.size()));
+    }
+
+    // Repeat guests dominate: low ids are picked far more often
+    public String pickGuestEmail(Random random) {
+        double skewed = Math.pow(random.nextDouble(), 3);
+        return "guest" + (int) (skewed * GUESTS) + "@loadtest.kenyastay.co.ke";
+    }
+
+    private static List<Map.Entry<String, Integer>> weightsFor(List<Map.Entry<String, Integer>> season,
+                                                              List<String> locations) {
+        List<Map.Entry<String, Integer>> weights = new ArrayList<>();
+        for (String location : locations) {
+            int weight = season.stream()
+                    .filter(entry -> sameLocation(entry.getKey(), location))
+                    .mapToInt(Map.Entry::getValue)
+                    .findFirst()
+                    .orElse(DEFAULT_LOCATION_WEIGHT);
+            weights.add(Map.entry(location, weight));
+        }
+        return weights;
+    }
+
+    private static boolean sameLocation(String a, String b) {
+        return normalize(a).equals(normalize(b));
+    }
+
+    private static String normalize(String location) {
+        return location.trim().replace('_', ' ').toLowerCase(Locale.ROOT);
+    }
+
+    private static int pickIndex(Random random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+}